@@ -0,0 +1,75 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.impl.AdjacentCellsImpl;
+import de.calltopower.jgol.impl.GameFieldFactory;
+
+/**
+ * Measures counting the active neighbors of random cells with AdjacentCellsImpl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdjacentCellsBenchmark {
+
+    private static final int NR_OF_CELLS = 1024;
+
+    @Param({ "OBJECT", "PACKED", "SWAR", "HASHLIFE", "SPARSE" })
+    private EngineType engine;
+
+    @Param({ "64", "512" })
+    private int size;
+
+    private GameField gameField;
+    private int[] rows;
+    private int[] columns;
+
+    @Setup
+    public void setUp() {
+        gameField = GameFieldFactory.create(engine, size, 1, 1);
+        gameField.setValues(BenchmarkData.randomValues(size, 0.5));
+        Random random = new Random(size);
+        rows = new int[NR_OF_CELLS];
+        columns = new int[NR_OF_CELLS];
+        for (int i = 0; i < NR_OF_CELLS; ++i) {
+            rows[i] = random.nextInt(size);
+            columns[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public int countNeighbors() {
+        int nr = 0;
+        for (int i = 0; i < NR_OF_CELLS; ++i) {
+            nr += new AdjacentCellsImpl(gameField, gameField.get(rows[i], columns[i])).getNumberOfActiveNeighbors();
+        }
+
+        return nr;
+    }
+
+}
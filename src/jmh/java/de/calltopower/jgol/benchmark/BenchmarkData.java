@@ -0,0 +1,43 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.benchmark;
+
+import java.util.Random;
+
+import de.calltopower.jgol.enums.FieldValue;
+
+/**
+ * Reproducible workloads shared by the benchmarks
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+        // Nothing to see here...
+    }
+
+    /**
+     * Returns random field values with a fixed seed
+     * 
+     * @param nrOfFields The number of fields
+     * @param density    The probability of a field being active
+     * @return the field values
+     */
+    public static FieldValue[][] randomValues(int nrOfFields, double density) {
+        Random random = new Random(SEED);
+        FieldValue[][] values = new FieldValue[nrOfFields][nrOfFields];
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                values[i][j] = random.nextDouble() < density ? FieldValue.ACTIVE : FieldValue.INACTIVE;
+            }
+        }
+
+        return values;
+    }
+
+}
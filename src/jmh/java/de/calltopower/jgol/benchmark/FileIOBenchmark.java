@@ -0,0 +1,124 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.calltopower.jgol.utils.Constants;
+import de.calltopower.jgol.utils.FileData;
+import de.calltopower.jgol.utils.FileUtils;
+
+/**
+ * Measures reading and writing pattern files of large boards
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileIOBenchmark {
+
+    @Param({ "512", "2048" })
+    private int size;
+
+    private Path directory;
+    private String readFileName;
+    private String readBinaryFileName;
+    private String readCompressedFileName;
+    private String readRleFileName;
+    private String writeFileName;
+    private FileData fileData;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jgol-benchmark");
+        fileData = new FileData(Constants.JGOL_DATA_NAME, size, Constants.DEFAULT_FIELD_SIZE,
+                BenchmarkData.randomValues(size, 0.5));
+        String name = directory.resolve("read").toString();
+        FileUtils.getInstance().writeToFile(name, fileData);
+        readFileName = name + "." + Constants.JGOL_FILE_SUFFIX;
+        FileUtils.getInstance().writeToBinaryFile(name, fileData, false);
+        readBinaryFileName = name + "." + Constants.JGOLB_FILE_SUFFIX;
+        String compressedName = directory.resolve("read-compressed").toString();
+        FileUtils.getInstance().writeToBinaryFile(compressedName, fileData, true);
+        readCompressedFileName = compressedName + "." + Constants.JGOLB_FILE_SUFFIX;
+        FileUtils.getInstance().writeToRleFile(name, fileData);
+        readRleFileName = name + "." + Constants.RLE_FILE_SUFFIX;
+        writeFileName = directory.resolve("write").toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(readFileName));
+        Files.deleteIfExists(Paths.get(readBinaryFileName));
+        Files.deleteIfExists(Paths.get(readCompressedFileName));
+        Files.deleteIfExists(Paths.get(readRleFileName));
+        Files.deleteIfExists(Paths.get(writeFileName + "." + Constants.JGOL_FILE_SUFFIX));
+        Files.deleteIfExists(Paths.get(writeFileName + "." + Constants.JGOLB_FILE_SUFFIX));
+        Files.deleteIfExists(Paths.get(writeFileName + "." + Constants.RLE_FILE_SUFFIX));
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public FileData read() throws IOException {
+        return FileUtils.getInstance().readFromFile(readFileName);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        FileUtils.getInstance().writeToFile(writeFileName, fileData);
+    }
+
+    @Benchmark
+    public FileData readBinary() throws IOException {
+        return FileUtils.getInstance().readFromFile(readBinaryFileName);
+    }
+
+    @Benchmark
+    public FileData readBinaryCompressed() throws IOException {
+        return FileUtils.getInstance().readFromFile(readCompressedFileName);
+    }
+
+    @Benchmark
+    public void writeBinary() throws IOException {
+        FileUtils.getInstance().writeToBinaryFile(writeFileName, fileData, false);
+    }
+
+    @Benchmark
+    public void writeBinaryCompressed() throws IOException {
+        FileUtils.getInstance().writeToBinaryFile(writeFileName, fileData, true);
+    }
+
+    @Benchmark
+    public FileData readRle() throws IOException {
+        return FileUtils.getInstance().readFromFile(readRleFileName);
+    }
+
+    @Benchmark
+    public void writeRle() throws IOException {
+        FileUtils.getInstance().writeToRleFile(writeFileName, fileData);
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.impl.GameFieldFactory;
+
+/**
+ * Measures one generation and one snapshot copy of every engine.
+ * 
+ * The board is reset before every iteration, so all engines run the same generations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepBenchmark {
+
+    @Param({ "OBJECT", "PACKED", "SWAR", "VECTOR", "PARALLEL", "TILED", "HASHLIFE", "SPARSE" })
+    private EngineType engine;
+
+    @Param({ "64", "512", "2048" })
+    private int size;
+
+    @Param({ "0.1", "0.5" })
+    private double density;
+
+    private GameField gameField;
+    private long[] bits;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        gameField = GameFieldFactory.create(engine, size, 1, Runtime.getRuntime().availableProcessors());
+        gameField.setValues(BenchmarkData.randomValues(size, density));
+        bits = new long[size * ((size + 63) >>> 6)];
+    }
+
+    @Benchmark
+    public void step() {
+        gameField.generateNewGeneration();
+    }
+
+    @Benchmark
+    public long[] snapshot() {
+        gameField.copyTo(bits);
+        return bits;
+    }
+
+}
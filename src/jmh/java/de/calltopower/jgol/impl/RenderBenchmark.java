@@ -0,0 +1,150 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.api.RenderTarget;
+import de.calltopower.jgol.benchmark.BenchmarkData;
+import de.calltopower.jgol.utils.Constants;
+
+/**
+ * Measures rendering into an offscreen image, headless.
+ * 
+ * Lives in the impl package to reach the package-private PixelRenderer. Zoom is the
+ * number of zoom steps from the default view, negative values zoom out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    private static final int FIELD_SIZE = 2;
+    private static final double DENSITY = 0.3;
+
+    @Param({ "512", "2048", "4096" })
+    private int size;
+
+    @Param({ "-2", "0", "2" })
+    private int zoom;
+
+    private GenerationSnapshot[] snapshots;
+    private PixelRenderer pixelRenderer;
+    private int generation;
+    private GameImpl game;
+
+    @Setup
+    public void setUp() {
+        GameField gameField = new SwarGameFieldImpl(size, FIELD_SIZE);
+        gameField.setValues(BenchmarkData.randomValues(size, DENSITY));
+        snapshots = new GenerationSnapshot[] { new GenerationSnapshot(size), new GenerationSnapshot(size) };
+        snapshots[0].update(gameField, 0);
+        gameField.generateNewGeneration();
+        snapshots[1].update(gameField, 1);
+
+        int viewportSize = ViewportImpl.getSize(size, FIELD_SIZE);
+        ViewportImpl viewport = new ViewportImpl(viewportSize, viewportSize, size, FIELD_SIZE);
+        BufferedImage image = new BufferedImage(viewportSize, viewportSize + Constants.INFO_FIELD_SIZE,
+                BufferedImage.TYPE_INT_RGB);
+        game = new GameImpl(new OffscreenRenderTarget(image.getWidth(), image.getHeight()), size, FIELD_SIZE);
+        game.setValues(BenchmarkData.randomValues(size, DENSITY));
+
+        int center = viewportSize / 2;
+        for (int i = 0; i < Math.abs(zoom); ++i) {
+            if (zoom > 0) {
+                viewport.zoomIn(center, center);
+                game.zoomIn(center, center);
+            } else {
+                viewport.zoomOut(center, center);
+                game.zoomOut(center, center);
+            }
+        }
+        pixelRenderer = new PixelRenderer(image, size, viewport);
+        pixelRenderer.render(snapshots[0]);
+    }
+
+    /**
+     * Renders all view cells and grid lines
+     */
+    @Benchmark
+    public Rectangle fullRender() {
+        pixelRenderer.invalidate();
+        return pixelRenderer.render(snapshots[0]);
+    }
+
+    /**
+     * Renders the view cells that changed between two generations
+     */
+    @Benchmark
+    public Rectangle incrementalRender() {
+        generation ^= 1;
+        return pixelRenderer.render(snapshots[generation]);
+    }
+
+    /**
+     * Computes, publishes, renders and presents the next generation through GameImpl
+     */
+    @Benchmark
+    public void stepAndDraw() {
+        game.generateNextGeneration();
+    }
+
+    /**
+     * RenderTarget copying the presented regions into an image, frames are driven by the benchmark
+     */
+    private static class OffscreenRenderTarget implements RenderTarget {
+
+        private final BufferedImage screen;
+
+        OffscreenRenderTarget(int width, int height) {
+            screen = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        @Override
+        public void start(Runnable frame) {
+            // Frames are driven by the benchmark
+        }
+
+        @Override
+        public void stop() {
+            // Frames are driven by the benchmark
+        }
+
+        @Override
+        public void present(BufferedImage image, Rectangle region) {
+            Graphics graphics = screen.getGraphics();
+            if (region == null) {
+                graphics.drawImage(image, 0, 0, null);
+            } else {
+                graphics.drawImage(image, region.x, region.y, region.x + region.width, region.y + region.height,
+                        region.x, region.y, region.x + region.width, region.y + region.height, null);
+            }
+            graphics.dispose();
+        }
+
+    }
+
+}
@@ -10,6 +10,8 @@ import de.calltopower.jgol.ui.ControlsUI;
 import de.calltopower.jgol.utils.Helper;
 import de.calltopower.jgol.Application;
 
+import java.util.Arrays;
+
 import javax.swing.SwingUtilities;
 
 import org.apache.logging.log4j.LogManager;
@@ -22,7 +24,14 @@ public class Application {
 
 	private static final Logger LOGGER = LogManager.getLogger(Application.class);
 
+	private static final String HEADLESS_ARGUMENT = "--headless";
+
 	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals(HEADLESS_ARGUMENT)) {
+			HeadlessApplication.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+
 		Helper.printSystemInformation();
 
 		LOGGER.info("Setting platform look and feel");
@@ -0,0 +1,273 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.calltopower.jgol.api.Simulation;
+import de.calltopower.jgol.enums.CycleAction;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.impl.CycleDetector;
+import de.calltopower.jgol.impl.GameFieldFactory;
+import de.calltopower.jgol.impl.GameMetricsImpl;
+import de.calltopower.jgol.utils.Checkpointer;
+import de.calltopower.jgol.utils.Constants;
+import de.calltopower.jgol.utils.FileData;
+import de.calltopower.jgol.utils.FileUtils;
+
+/**
+ * Headless starting point, runs a number of generations without rendering.
+ * Only the simulation core is used, java.awt is never loaded.
+ * 
+ * Usage: HeadlessApplication input.jgol generations output [engine] [parallelism]
+ * 
+ * The output is written in the format of the input, .jgol, .jgolb or .rle.
+ * 
+ * Checkpoints are written every jgol.checkpoint.generations generations or jgol.checkpoint.seconds
+ * seconds to the directory jgol.checkpoint.dir, named after the input file. If the directory
+ * contains a checkpoint of the input, the run resumes from the latest checkpoint. HashLife
+ * runs in bounded steps while checkpoints are enabled. HashLife checkpoints only contain the
+ * board, cells that left the board are not resumed.
+ * 
+ * With jgol.cycle=report|stop|fast_forward the run detects when the board has become periodic. The
+ * run reports the period, stops once the repeat has been confirmed or skips all full periods and only
+ * computes the remaining generations modulo the period. Not supported with HashLife.
+ */
+public class HeadlessApplication {
+
+    private static final Logger LOGGER = LogManager.getLogger(HeadlessApplication.class);
+
+    private static final String USAGE = "Usage: <input.jgol> <generations> <output> [engine] [parallelism]";
+
+    private HeadlessApplication() {
+        // Nothing to see here...
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 3 || args.length > 5) {
+            LOGGER.error(USAGE);
+            System.exit(1);
+        }
+
+        try {
+            EngineType engineType = args.length > 3 ? EngineType.valueOf(args[3].toUpperCase(Locale.ROOT))
+                    : Constants.DEFAULT_ENGINE_TYPE;
+            int parallelism = args.length > 4 ? Integer.parseInt(args[4]) : Constants.DEFAULT_PARALLELISM;
+            run(args[0], Long.parseLong(args[1]), args[2], engineType, parallelism);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid argument: " + e.getMessage());
+            LOGGER.error(USAGE);
+            System.exit(1);
+        } catch (IOException e) {
+            LOGGER.error("IOException: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Loads a file, runs a number of generations and writes the final state
+     * 
+     * @param inputFileName  The input file name
+     * @param generations    The number of generations
+     * @param outputFileName The output file name (without suffix)
+     * @param engineType     The engine type
+     * @param parallelism    The parallelism level (for parallel engines)
+     * @throws IOException
+     */
+    public static void run(String inputFileName, long generations, String outputFileName, EngineType engineType,
+            int parallelism) throws IOException {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Number of generations must be >= 0");
+        }
+
+        LOGGER.info("Loading " + inputFileName);
+        FileData fileData = FileUtils.getInstance().readFromFile(inputFileName);
+        int nrOfFields = fileData.getNrOfFields();
+
+        Simulation simulation = GameFieldFactory.create(engineType, nrOfFields, fileData.getFieldSize(), parallelism);
+        simulation.copyFrom(fileData.getBits());
+        int initialPopulation = simulation.getNrOfAliveCells();
+
+        Checkpointer checkpointer = new Checkpointer(getName(inputFileName));
+        FileData checkpoint = checkpointer.getLatest();
+        long firstGeneration = 0;
+        long seed = fileData.getSeed();
+        if (checkpoint != null && checkpoint.getNrOfFields() == nrOfFields
+                && checkpoint.getGeneration() <= generations) {
+            LOGGER.info("Resuming from checkpoint of generation " + checkpoint.getGeneration());
+            if (engineType == EngineType.HASHLIFE) {
+                LOGGER.warn("The checkpoint only contains the board, cells of " + engineType
+                        + " that left the board are not resumed");
+            }
+            simulation.copyFrom(checkpoint.getBits());
+            firstGeneration = checkpoint.getGeneration();
+            seed = checkpoint.getSeed();
+        }
+        checkpointer.start(firstGeneration);
+        long generationsToRun = generations - firstGeneration;
+
+        LOGGER.info(String.format("Running %d generations on %dx%d fields with engine %s", generationsToRun,
+                nrOfFields, nrOfFields, engineType));
+        GameMetricsImpl metrics = new GameMetricsImpl();
+        metrics.register();
+        CycleAction cycleAction = CycleDetector.getCycleAction();
+        CycleDetector cycleDetector = null;
+        if (cycleAction != CycleAction.NONE) {
+            if (engineType == EngineType.HASHLIFE) {
+                LOGGER.warn("Cycle detection is not supported with " + engineType);
+            } else {
+                cycleDetector = new CycleDetector(nrOfFields, Constants.CYCLE_MAX_PERIOD);
+            }
+        }
+        long lastGeneration = generations;
+        long start = System.nanoTime();
+        if (engineType == EngineType.HASHLIFE) {
+            runHashLife(simulation, firstGeneration, generations, checkpointer, seed, fileData.getFieldSize());
+        } else {
+            lastGeneration = runGenerations(simulation, firstGeneration, generations, metrics, checkpointer,
+                    cycleDetector, cycleAction, seed, fileData.getFieldSize());
+        }
+        long duration = System.nanoTime() - start;
+        checkpointer.awaitCheckpoint();
+
+        long[] bits = new long[nrOfFields * FileData.getWordsPerRow(nrOfFields)];
+        simulation.copyTo(bits);
+        FileData outputData = new FileData(fileData.getName(), nrOfFields, fileData.getFieldSize(), bits,
+                lastGeneration, seed);
+        String suffix = FileUtils.getSuffix(inputFileName);
+        if (suffix == null) {
+            suffix = Constants.JGOL_FILE_SUFFIX;
+        }
+        FileUtils.getInstance().writeToFile(outputFileName, outputData, suffix);
+
+        double seconds = duration / 1e9;
+        long computedGenerations = engineType == EngineType.HASHLIFE ? generationsToRun : metrics.getGenerations();
+        LOGGER.info(String.format(Locale.ROOT, "Engine:             %s", engineType));
+        LOGGER.info(String.format(Locale.ROOT, "Generations:        %d", lastGeneration));
+        LOGGER.info(String.format(Locale.ROOT, "Duration:           %.3f s", seconds));
+        LOGGER.info(String.format(Locale.ROOT, "Generations/s:      %.1f",
+                seconds > 0 ? computedGenerations / seconds : 0));
+        LOGGER.info(String.format(Locale.ROOT, "Cell updates/s:     %.3e",
+                seconds > 0 ? computedGenerations * (double) nrOfFields * nrOfFields / seconds : 0));
+        LOGGER.info(String.format(Locale.ROOT, "Initial population: %d", initialPopulation));
+        LOGGER.info(String.format(Locale.ROOT, "Final population:   %d", simulation.getNrOfAliveCells()));
+        if (metrics.getCyclePeriod() > 0) {
+            LOGGER.info(String.format(Locale.ROOT, "Cycle:              period %d from generation %d",
+                    metrics.getCyclePeriod(), metrics.getCycleStart()));
+        }
+        if (metrics.getGenerations() > 0) {
+            LOGGER.info(String.format(Locale.ROOT, "Step time:          %s", metrics.getStepTimes()));
+        }
+        LOGGER.info("Written to " + outputFileName + "." + suffix);
+    }
+
+    /**
+     * Runs the generations of a HashLife simulation. HashLife computes many generations at once, while
+     * checkpoints are enabled the generations are computed in steps of 1, 2, 4, ... generations up to
+     * HASHLIFE_MAX_CHECKPOINT_STEP and the generation interval, so time intervals are checked as well.
+     * 
+     * @param simulation      The simulation
+     * @param firstGeneration The current generation
+     * @param generations     The generation to run to
+     * @param checkpointer    The checkpointer
+     * @param seed            The seed of the initial generation
+     * @param fieldSize       The field size
+     */
+    private static void runHashLife(Simulation simulation, long firstGeneration, long generations,
+            Checkpointer checkpointer, long seed, int fieldSize) {
+        if (!checkpointer.isEnabled()) {
+            simulation.generateNewGenerations(generations - firstGeneration);
+            return;
+        }
+        long generationInterval = checkpointer.getGenerationInterval();
+        long step = 1;
+        long generation = firstGeneration;
+        while (generation < generations) {
+            long n = Math.min(step, generations - generation);
+            if (generationInterval > 0) {
+                // Stop at the next multiple of the interval
+                n = Math.min(n, generationInterval - (generation - firstGeneration) % generationInterval);
+            }
+            simulation.generateNewGenerations(n);
+            generation += n;
+            if (checkpointer.isDue(generation)) {
+                checkpointer.checkpoint(simulation, generation, seed, fieldSize);
+            }
+            step = Math.min(step * 2, Constants.HASHLIFE_MAX_CHECKPOINT_STEP);
+        }
+    }
+
+    /**
+     * Runs the generations of a simulation
+     * 
+     * @param simulation      The simulation
+     * @param firstGeneration The current generation
+     * @param generations     The generation to run to
+     * @param metrics         The metrics
+     * @param checkpointer    The checkpointer
+     * @param cycleDetector   The cycle detector, null for no cycle detection
+     * @param cycleAction     The action taken when a cycle has been detected
+     * @param seed            The seed of the initial generation
+     * @param fieldSize       The field size
+     * @return the generation reached, earlier than generations if stopped at a cycle
+     */
+    private static long runGenerations(Simulation simulation, long firstGeneration, long generations,
+            GameMetricsImpl metrics, Checkpointer checkpointer, CycleDetector cycleDetector, CycleAction cycleAction,
+            long seed, int fieldSize) {
+        if (cycleDetector != null) {
+            cycleDetector.update(simulation, firstGeneration);
+        }
+        long end = generations;
+        for (long i = firstGeneration; i < end; ++i) {
+            long allocatedBytes = GameMetricsImpl.getAllocatedBytes();
+            long start = System.nanoTime();
+            simulation.generateNewGeneration();
+            long stepTime = System.nanoTime() - start;
+            metrics.recordGeneration(stepTime,
+                    allocatedBytes < 0 ? -1 : GameMetricsImpl.getAllocatedBytes() - allocatedBytes);
+            metrics.recordPopulation(simulation.getNrOfAliveCells(), simulation.getNrOfBirths(),
+                    simulation.getNrOfDeaths());
+            if (checkpointer.isDue(i + 1)) {
+                checkpointer.checkpoint(simulation, i + 1, seed, fieldSize);
+            }
+            if (cycleDetector != null && cycleDetector.update(simulation, i + 1)) {
+                long period = cycleDetector.getPeriod();
+                LOGGER.info("Cycle of period " + period + " from generation " + cycleDetector.getCycleStart()
+                        + " detected at generation " + (i + 1));
+                metrics.recordCycle(cycleDetector.getCycleStart(), period);
+                if (cycleAction == CycleAction.STOP) {
+                    return i + 1;
+                } else if (cycleAction == CycleAction.FAST_FORWARD) {
+                    // The board at generation g equals the board at g - period, full periods are skipped
+                    end = i + 1 + (generations - i - 1) % period;
+                }
+            }
+        }
+
+        return generations;
+    }
+
+    /**
+     * Returns the name of a file without directory and suffix
+     * 
+     * @param fileName The file name
+     * @return the name
+     */
+    private static String getName(String fileName) {
+        String name = Paths.get(fileName).getFileName().toString();
+        String suffix = FileUtils.getSuffix(name);
+        return suffix != null ? name.substring(0, name.length() - suffix.length() - 1) : name;
+    }
+
+}
@@ -0,0 +1,23 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.api;
+
+/**
+ * Interface for consumers of the words of the packed bits that changed in a generation
+ */
+@FunctionalInterface
+public interface ChangedWordConsumer {
+
+    /**
+     * Accepts a changed word
+     * 
+     * @param index   The index of the word in the packed bits, see Simulation.copyTo
+     * @param changed The changed bits, the word of the previous generation XOR the word of the current one
+     */
+    void accept(int index, long changed);
+
+}
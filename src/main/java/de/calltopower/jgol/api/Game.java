@@ -6,6 +6,9 @@
 
 package de.calltopower.jgol.api;
 
+import java.util.concurrent.CompletableFuture;
+
+import de.calltopower.jgol.enums.EngineType;
 import de.calltopower.jgol.enums.FieldValue;
 
 /**
@@ -14,9 +17,10 @@ import de.calltopower.jgol.enums.FieldValue;
 public interface Game extends Drawable {
 
     /**
-     * Returns the game field
+     * Returns a copy of the rendered generation, the game field itself is only used by the thread
+     * owning the simulation
      * 
-     * @return the game field
+     * @return the copy, a game field of the current engine type
      */
     GameField getGameField();
 
@@ -42,7 +46,21 @@ public interface Game extends Drawable {
     long getGenerationTimeout();
 
     /**
-     * Returns the field value at row/column
+     * Returns the engine type
+     * 
+     * @return the engine type
+     */
+    EngineType getEngineType();
+
+    /**
+     * Returns the parallelism level of parallel engines
+     * 
+     * @return the parallelism level
+     */
+    int getParallelism();
+
+    /**
+     * Returns the field value at row/column of the rendered generation
      * 
      * @param x Row
      * @param y Column
@@ -65,6 +83,30 @@ public interface Game extends Drawable {
      */
     boolean setValues(FieldValue[][] values);
 
+    /**
+     * Sets all field values from packed bits, see Simulation.copyTo
+     * 
+     * @param bits The packed bits
+     * @return true if successfully set, false else
+     */
+    boolean setValues(long[] bits);
+
+    /**
+     * Replaces the game field, e.g. with a field decoded by another thread.
+     * If the game is running, the game field is replaced before the next generation.
+     * 
+     * @param gameField The game field, of the same size and engine type
+     * @return true if successfully set, false else
+     */
+    boolean setGameField(GameField gameField);
+
+    /**
+     * Copies the current generation without pausing the game
+     * 
+     * @return the packed bits (see Simulation.copyTo), completed by the thread owning the simulation
+     */
+    CompletableFuture<long[]> copyGeneration();
+
     /**
      * Sets a new generation timeout
      * 
@@ -72,6 +114,22 @@ public interface Game extends Drawable {
      */
     void setGenerationTimeout(long timeout);
 
+    /**
+     * Sets the engine type.
+     * The current field values are kept. If the game is running, the engine is
+     * switched before the next generation.
+     * 
+     * @param engineType The engine type
+     */
+    void setEngineType(EngineType engineType);
+
+    /**
+     * Sets the parallelism level of parallel engines
+     * 
+     * @param parallelism The parallelism level
+     */
+    void setParallelism(int parallelism);
+
     /**
      * Toggles the field on row/column
      * 
@@ -100,6 +158,12 @@ public interface Game extends Drawable {
      */
     void pause();
 
+    /**
+     * Stops the game for good, e.g. before it is replaced by a new game on the same render target.
+     * Frames of the stopping game loop are not presented anymore.
+     */
+    void dispose();
+
     /**
      * Clears the game
      */
@@ -110,6 +174,30 @@ public interface Game extends Drawable {
      */
     void generateNextGeneration();
 
+    /**
+     * Returns whether the generations are recorded in the history, set by the system property jgol.history
+     * 
+     * @return true if the history is recorded, false else
+     */
+    boolean isHistoryEnabled();
+
+    /**
+     * Goes back one generation, if it is retained in the history
+     */
+    void stepBack();
+
+    /**
+     * Goes back to the oldest generation retained in the history
+     */
+    void rewind();
+
+    /**
+     * Goes to a generation retained in the history, the later generations are dropped from the history
+     * 
+     * @param generation The generation
+     */
+    void goToGeneration(long generation);
+
     /**
      * Highlights the field on row/column
      * 
@@ -118,4 +206,28 @@ public interface Game extends Drawable {
      */
     void highlightField(int x, int y);
 
+    /**
+     * Zooms in, the field on the coordinate keeps its position
+     * 
+     * @param x x-coordinate
+     * @param y y-coordinate
+     */
+    void zoomIn(int x, int y);
+
+    /**
+     * Zooms out, the field on the coordinate keeps its position
+     * 
+     * @param x x-coordinate
+     * @param y y-coordinate
+     */
+    void zoomOut(int x, int y);
+
+    /**
+     * Moves the visible area
+     * 
+     * @param dx Pixels in x-direction
+     * @param dy Pixels in y-direction
+     */
+    void pan(int dx, int dy);
+
 }
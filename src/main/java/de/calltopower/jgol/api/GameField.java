@@ -6,12 +6,10 @@
 
 package de.calltopower.jgol.api;
 
-import de.calltopower.jgol.enums.FieldValue;
-
 /**
  * Interface for game field entities
  */
-public interface GameField extends Printable, Drawable {
+public interface GameField extends Simulation, Printable, Drawable {
 
     /**
      * Returns the whole field
@@ -28,6 +26,15 @@ public interface GameField extends Printable, Drawable {
      */
     Field get(int x, int y);
 
+    /**
+     * Returns whether the field on row/column is highlighted
+     * 
+     * @param x Row
+     * @param y Column
+     * @return Boolean flag whether the field is highlighted
+     */
+    boolean isHighlighted(int x, int y);
+
     /**
      * Highlights the field on cordinate
      * 
@@ -44,46 +51,4 @@ public interface GameField extends Printable, Drawable {
      */
     void toggleField(int xCoord, int yCoord);
 
-    /**
-     * Sets a value to field on row/column
-     * 
-     * @param x Row
-     * @param y Column
-     * @param value The value
-     * @return true if set, false else
-     */
-    boolean set(int x, int y, FieldValue value);
-
-    /**
-     * Sets a (random) seed
-     */
-    void seed();
-
-    /**
-     * Sets all field values
-     * 
-     * @param values The field values
-     * @return true if successfully set, false else
-     */
-    boolean setValues(FieldValue[][] values);
-
-    /**
-     * Sets the seed
-     * 
-     * @param seed The seed
-     */
-    void seed(long seed);
-
-    /**
-     * Generates a new generation
-     */
-    void generateNewGeneration();
-
-    /**
-     * Returns the number of alive cells
-     * 
-     * @return The number of alive cells
-     */
-    int getNrOfAliveCells();
-
 }
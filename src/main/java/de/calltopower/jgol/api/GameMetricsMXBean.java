@@ -0,0 +1,131 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.api;
+
+/**
+ * Management interface for the runtime metrics of a game, registered with the platform MBean server
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * Returns the number of recorded generations
+     * 
+     * @return the number of recorded generations
+     */
+    long getGenerations();
+
+    /**
+     * Returns the generations per second of the last rate interval
+     * 
+     * @return the generations per second
+     */
+    double getGenerationsPerSecond();
+
+    /**
+     * Returns the number of alive cells of the last recorded generation
+     * 
+     * @return the number of alive cells
+     */
+    int getPopulation();
+
+    /**
+     * Returns the number of cells born in the last recorded generation
+     * 
+     * @return the number of births, -1 if the engine does not count them
+     */
+    int getBirths();
+
+    /**
+     * Returns the number of cells died in the last recorded generation
+     * 
+     * @return the number of deaths, -1 if the engine does not count them
+     */
+    int getDeaths();
+
+    /**
+     * Returns the period of the cycle the board has entered
+     * 
+     * @return the period, 0 if no cycle has been detected
+     */
+    long getCyclePeriod();
+
+    /**
+     * Returns the first generation of the cycle the board has entered
+     * 
+     * @return the generation, -1 if no cycle has been detected
+     */
+    long getCycleStart();
+
+    /**
+     * Returns the mean number of bytes allocated per generation during the last rate interval
+     * 
+     * @return the bytes per generation, -1 if the JVM does not measure thread allocations
+     */
+    long getAllocatedBytesPerGeneration();
+
+    /**
+     * Returns the mean step time
+     * 
+     * @return the mean step time in milliseconds
+     */
+    double getStepTimeMeanMillis();
+
+    /**
+     * Returns the median step time
+     * 
+     * @return the median step time in milliseconds
+     */
+    double getStepTimeP50Millis();
+
+    /**
+     * Returns the 99th percentile of the step time
+     * 
+     * @return the 99th percentile of the step time in milliseconds
+     */
+    double getStepTimeP99Millis();
+
+    /**
+     * Returns the maximum step time
+     * 
+     * @return the maximum step time in milliseconds
+     */
+    double getStepTimeMaxMillis();
+
+    /**
+     * Returns the mean render time of a frame
+     * 
+     * @return the mean render time in milliseconds
+     */
+    double getRenderTimeMeanMillis();
+
+    /**
+     * Returns the median render time of a frame
+     * 
+     * @return the median render time in milliseconds
+     */
+    double getRenderTimeP50Millis();
+
+    /**
+     * Returns the 99th percentile of the render time of a frame
+     * 
+     * @return the 99th percentile of the render time in milliseconds
+     */
+    double getRenderTimeP99Millis();
+
+    /**
+     * Returns the maximum render time of a frame
+     * 
+     * @return the maximum render time in milliseconds
+     */
+    double getRenderTimeMaxMillis();
+
+    /**
+     * Removes all recorded values
+     */
+    void reset();
+
+}
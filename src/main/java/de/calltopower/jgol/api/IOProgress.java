@@ -0,0 +1,29 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.api;
+
+/**
+ * Interface for progress callbacks of reading and writing pattern files
+ */
+@FunctionalInterface
+public interface IOProgress {
+
+    /**
+     * Progress callback that never cancels
+     */
+    IOProgress NONE = (done, total) -> true;
+
+    /**
+     * Reports the progress, called by the reading or writing thread
+     * 
+     * @param done  The amount of work done
+     * @param total The total amount of work
+     * @return true to continue, false to cancel
+     */
+    boolean update(long done, long total);
+
+}
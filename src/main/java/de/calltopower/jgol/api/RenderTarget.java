@@ -0,0 +1,37 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.api;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+/**
+ * Interface for the targets rendered frames are shown on
+ */
+public interface RenderTarget {
+
+    /**
+     * Starts calling a frame callback at the frame rate
+     * 
+     * @param frame The frame callback
+     */
+    void start(Runnable frame);
+
+    /**
+     * Stops calling the frame callback
+     */
+    void stop();
+
+    /**
+     * Shows an image
+     * 
+     * @param image  The image
+     * @param region The region of the image that changed, null for the whole image
+     */
+    void present(BufferedImage image, Rectangle region);
+
+}
@@ -0,0 +1,131 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.api;
+
+import de.calltopower.jgol.enums.FieldValue;
+
+/**
+ * Interface for the simulation core of a game field, without any rendering
+ */
+public interface Simulation {
+
+    /**
+     * Returns the number of fields per row/column
+     * 
+     * @return the number of fields per row/column
+     */
+    int getNrOfFields();
+
+    /**
+     * Returns the value of the field on row/column
+     * 
+     * @param x Row
+     * @param y Column
+     * @return The value of the field on row/column
+     */
+    FieldValue getValue(int x, int y);
+
+    /**
+     * Sets a value to field on row/column
+     * 
+     * @param x Row
+     * @param y Column
+     * @param value The value
+     * @return true if set, false else
+     */
+    boolean set(int x, int y, FieldValue value);
+
+    /**
+     * Sets a (random) seed
+     */
+    void seed();
+
+    /**
+     * Sets all field values
+     * 
+     * @param values The field values
+     * @return true if successfully set, false else
+     */
+    boolean setValues(FieldValue[][] values);
+
+    /**
+     * Sets the seed
+     * 
+     * @param seed The seed
+     */
+    void seed(long seed);
+
+    /**
+     * Generates a new generation
+     */
+    void generateNewGeneration();
+
+    /**
+     * Generates a number of new generations
+     * 
+     * @param generations The number of generations
+     */
+    void generateNewGenerations(long generations);
+
+    /**
+     * Returns the number of alive cells, kept up to date by every change
+     * 
+     * @return The number of alive cells
+     */
+    int getNrOfAliveCells();
+
+    /**
+     * Returns the number of cells that became alive in the last generation
+     * 
+     * @return The number of births, -1 if the engine does not count them
+     */
+    int getNrOfBirths();
+
+    /**
+     * Returns the number of cells that died in the last generation
+     * 
+     * @return The number of deaths, -1 if the engine does not count them
+     */
+    int getNrOfDeaths();
+
+    /**
+     * Passes the words of the packed bits (see copyTo) that changed in the last generation to a consumer,
+     * only valid right after generateNewGeneration
+     * 
+     * @param consumer The consumer
+     * @return true if the changed words have been passed, false if the engine does not track them
+     */
+    boolean forEachChangedWord(ChangedWordConsumer consumer);
+
+    /**
+     * Returns the number of alive cells inside of a region, cells outside of the field are not counted
+     * 
+     * @param x       The first row
+     * @param y       The first column
+     * @param rows    The number of rows
+     * @param columns The number of columns
+     * @return The number of alive cells inside of the region
+     */
+    int getNrOfAliveCells(int x, int y, int rows, int columns);
+
+    /**
+     * Copies all field values into packed bits. Every row occupies (nrOfFields + 63) / 64 words,
+     * bit (y % 64) of word (x * wordsPerRow + y / 64) holds the field on row/column
+     * 
+     * @param bits The bits, at least nrOfFields * wordsPerRow words
+     */
+    void copyTo(long[] bits);
+
+    /**
+     * Replaces all field values with packed bits in the layout of copyTo, bits beyond the last column
+     * are ignored
+     * 
+     * @param bits The bits, at least nrOfFields * wordsPerRow words
+     */
+    void copyFrom(long[] bits);
+
+}
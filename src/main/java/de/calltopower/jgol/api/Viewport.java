@@ -0,0 +1,117 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.api;
+
+/**
+ * Interface for a zoomable and pannable view on a game field.
+ * 
+ * Zoomed in, a cell is shown as a square of pixels. Zoomed out, a pixel shows a
+ * square block of cells. The visible area is divided into view cells, a view cell
+ * is either one cell or one pixel.
+ */
+public interface Viewport {
+
+    /**
+     * Returns the width in pixels
+     * 
+     * @return the width in pixels
+     */
+    int getWidth();
+
+    /**
+     * Returns the height in pixels
+     * 
+     * @return the height in pixels
+     */
+    int getHeight();
+
+    /**
+     * Returns the number of pixels per cell, 1 if zoomed out
+     * 
+     * @return the number of pixels per cell
+     */
+    int getPixelsPerCell();
+
+    /**
+     * Returns the number of cells per pixel (in each direction), 1 if zoomed in
+     * 
+     * @return the number of cells per pixel
+     */
+    int getCellsPerPixel();
+
+    /**
+     * Returns the first visible row
+     * 
+     * @return the first visible row
+     */
+    int getOffsetX();
+
+    /**
+     * Returns the first visible column
+     * 
+     * @return the first visible column
+     */
+    int getOffsetY();
+
+    /**
+     * Returns the number of (partially) visible view cell rows
+     * 
+     * @return the number of visible view cell rows
+     */
+    int getNrOfVisibleRows();
+
+    /**
+     * Returns the number of (partially) visible view cell columns
+     * 
+     * @return the number of visible view cell columns
+     */
+    int getNrOfVisibleColumns();
+
+    /**
+     * Returns the row on a y-coordinate
+     * 
+     * @param yCoord y-coordinate
+     * @return the row
+     */
+    int getRow(int yCoord);
+
+    /**
+     * Returns the column on a x-coordinate
+     * 
+     * @param xCoord x-coordinate
+     * @return the column
+     */
+    int getColumn(int xCoord);
+
+    /**
+     * Zooms in, the cell on the coordinate keeps its position
+     * 
+     * @param xCoord x-coordinate
+     * @param yCoord y-coordinate
+     * @return true if the zoom changed, false else
+     */
+    boolean zoomIn(int xCoord, int yCoord);
+
+    /**
+     * Zooms out, the cell on the coordinate keeps its position
+     * 
+     * @param xCoord x-coordinate
+     * @param yCoord y-coordinate
+     * @return true if the zoom changed, false else
+     */
+    boolean zoomOut(int xCoord, int yCoord);
+
+    /**
+     * Moves the visible area by a number of pixels
+     * 
+     * @param dxCoord Pixels in x-direction
+     * @param dyCoord Pixels in y-direction
+     * @return true if the visible area changed, false else
+     */
+    boolean pan(int dxCoord, int dyCoord);
+
+}
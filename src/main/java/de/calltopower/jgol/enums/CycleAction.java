@@ -0,0 +1,32 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.enums;
+
+/**
+ * Enumeration for the action taken when the board has become periodic
+ */
+public enum CycleAction {
+
+    /**
+     * No cycle detection
+     */
+    NONE,
+    /**
+     * Reports the period and the generation of the first repeat, the simulation continues
+     */
+    REPORT,
+    /**
+     * Reports the cycle and stops the simulation
+     */
+    STOP,
+    /**
+     * Reports the cycle and skips all full periods, only the remaining generations modulo the period are computed.
+     * The UI has no last generation and stops
+     */
+    FAST_FORWARD;
+
+}
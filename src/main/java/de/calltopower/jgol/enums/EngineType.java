@@ -0,0 +1,48 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.enums;
+
+/**
+ * Enumeration for the engine computing the generations of a game field
+ */
+public enum EngineType {
+
+    /**
+     * One Field object per cell
+     */
+    OBJECT,
+    /**
+     * One bit per cell, single threaded
+     */
+    PACKED,
+    /**
+     * One bit per cell, 64 cells per step with bit-sliced adders
+     */
+    SWAR,
+    /**
+     * One bit per cell, vector lanes of 64 cells per step with the Vector API,
+     * falls back to SWAR if the Vector API is not available
+     */
+    VECTOR,
+    /**
+     * One bit per cell, 64 cells per step, row stripes computed in parallel
+     */
+    PARALLEL,
+    /**
+     * One bit per cell, 64 cells per step, only tiles next to changes are computed
+     */
+    TILED,
+    /**
+     * Unbounded HashLife universe of canonical quadtree nodes
+     */
+    HASHLIFE,
+    /**
+     * Unbounded universe storing only the living cells
+     */
+    SPARSE;
+
+}
@@ -0,0 +1,25 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.enums;
+
+/**
+ * Enumeration for the way rendered frames are shown
+ */
+public enum RenderType {
+
+    /**
+     * Blits changed regions of the back buffer to a Swing panel, frames are driven by a Swing timer.
+     * Software only, works everywhere including Xvfb
+     */
+    IMAGE,
+    /**
+     * Page flips the back buffer on a Canvas with a BufferStrategy, frames are driven by an active render loop.
+     * Falls back to IMAGE if no BufferStrategy can be created
+     */
+    CANVAS;
+
+}
@@ -0,0 +1,273 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.awt.Graphics;
+import java.util.Arrays;
+import java.util.Random;
+
+import de.calltopower.jgol.api.ChangedWordConsumer;
+import de.calltopower.jgol.api.Field;
+import de.calltopower.jgol.api.FieldDimension;
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.enums.FieldValue;
+
+/**
+ * Base GameField implementation for engines that do not keep Field objects.
+ * 
+ * Field instances are only created as views on demand, the highlighted cell
+ * is kept as a coordinate.
+ */
+public abstract class AbstractGameField implements GameField {
+
+    protected final int nrOfFields;
+    protected final int fieldSize;
+
+    private FieldDimension dimension;
+    private int highlightedX;
+    private int highlightedY;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    protected AbstractGameField(int nrOfFields, int fieldSize) {
+        this.nrOfFields = nrOfFields;
+        this.fieldSize = fieldSize;
+
+        int val = this.nrOfFields * this.fieldSize;
+        this.dimension = new FieldDimensionImpl(val, val);
+
+        highlightedX = -1;
+        highlightedY = -1;
+    }
+
+    @Override
+    public int getNrOfFields() {
+        return nrOfFields;
+    }
+
+    @Override
+    public Field[][] getField() {
+        Field[][] field = new Field[nrOfFields][nrOfFields];
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                field[i][j] = new FieldViewImpl(this, i, j, fieldSize);
+            }
+        }
+
+        return field;
+    }
+
+    @Override
+    public Field get(int x, int y) {
+        if (!isValidCoordinate(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new FieldViewImpl(this, x, y, fieldSize);
+    }
+
+    @Override
+    public void highlightField(int xCoord, int yCoord) {
+        int x = yCoord / fieldSize;
+        int y = xCoord / fieldSize;
+        if (xCoord >= 0 && yCoord >= 0 && isValidCoordinate(x, y)) {
+            highlightedX = x;
+            highlightedY = y;
+        } else {
+            highlightedX = -1;
+            highlightedY = -1;
+        }
+    }
+
+    @Override
+    public void toggleField(int xCoord, int yCoord) {
+        int x = yCoord / fieldSize;
+        int y = xCoord / fieldSize;
+        if (xCoord >= 0 && yCoord >= 0 && isValidCoordinate(x, y)) {
+            set(x, y, getValue(x, y) == FieldValue.ACTIVE ? FieldValue.INACTIVE : FieldValue.ACTIVE);
+        }
+    }
+
+    @Override
+    public void seed() {
+        seed(new Random());
+    }
+
+    @Override
+    public boolean setValues(FieldValue[][] values) {
+        if (!(values.length == nrOfFields) || !(values[0].length == nrOfFields)) {
+            return false;
+        }
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                set(i, j, values[i][j]);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void seed(long seed) {
+        seed(new Random(seed));
+    }
+
+    @Override
+    public void generateNewGenerations(long generations) {
+        for (long i = 0; i < generations; ++i) {
+            generateNewGeneration();
+        }
+    }
+
+    @Override
+    public boolean forEachChangedWord(ChangedWordConsumer consumer) {
+        return false;
+    }
+
+    @Override
+    public int getNrOfAliveCells(int x, int y, int rows, int columns) {
+        int rowEnd = Math.min(x + rows, nrOfFields);
+        int colEnd = Math.min(y + columns, nrOfFields);
+        int count = 0;
+        for (int i = Math.max(x, 0); i < rowEnd; ++i) {
+            for (int j = Math.max(y, 0); j < colEnd; ++j) {
+                if (getValue(i, j) == FieldValue.ACTIVE) {
+                    ++count;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void copyTo(long[] bits) {
+        int wordsPerRow = (nrOfFields + 63) >>> 6;
+        Arrays.fill(bits, 0, nrOfFields * wordsPerRow, 0L);
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                if (getValue(i, j) == FieldValue.ACTIVE) {
+                    bits[i * wordsPerRow + (j >>> 6)] |= 1L << (j & 63);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void copyFrom(long[] bits) {
+        int wordsPerRow = (nrOfFields + 63) >>> 6;
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                set(i, j, ((bits[i * wordsPerRow + (j >>> 6)] >>> (j & 63)) & 1L) != 0 ? FieldValue.ACTIVE
+                        : FieldValue.INACTIVE);
+            }
+        }
+    }
+
+    @Override
+    public void draw(Graphics graphics) {
+        drawFields(graphics);
+        drawLines(graphics);
+    }
+
+    @Override
+    public void redraw(Graphics graphics) {
+        draw(graphics);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("GameField{\n");
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                sb.append(getValue(i, j).getVal()).append(j >= nrOfFields - 1 ? "\n" : " ");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean isHighlighted(int x, int y) {
+        return highlightedX == x && highlightedY == y;
+    }
+
+    /**
+     * Sets or removes the highlight of the field on row/column
+     * 
+     * @param x           Row
+     * @param y           Column
+     * @param highlighted Boolean flag whether field is highlighted
+     */
+    void setHighlighted(int x, int y, boolean highlighted) {
+        if (highlighted) {
+            highlightedX = x;
+            highlightedY = y;
+        } else if (isHighlighted(x, y)) {
+            highlightedX = -1;
+            highlightedY = -1;
+        }
+    }
+
+    /**
+     * Returns whether row/column is inside of the field
+     * 
+     * @param x Row
+     * @param y Column
+     * @return true if row/column is inside of the field, false else
+     */
+    protected boolean isValidCoordinate(int x, int y) {
+        return x >= 0 && x < nrOfFields && y >= 0 && y < nrOfFields;
+    }
+
+    /**
+     * Returns random field values in the same order as seed(Random) sets them
+     * 
+     * @param random The random number generator
+     * @return the field values
+     */
+    protected FieldValue[][] randomValues(Random random) {
+        FieldValue[][] values = new FieldValue[nrOfFields][nrOfFields];
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                values[i][j] = random.nextBoolean() ? FieldValue.ACTIVE : FieldValue.INACTIVE;
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Sets random field values
+     * 
+     * @param random The random number generator
+     */
+    protected void seed(Random random) {
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                set(i, j, random.nextBoolean() ? FieldValue.ACTIVE : FieldValue.INACTIVE);
+            }
+        }
+    }
+
+    private void drawFields(Graphics graphics) {
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                GameFieldPainter.drawField(graphics, i, j, fieldSize, getValue(i, j) == FieldValue.ACTIVE,
+                        isHighlighted(i, j));
+            }
+        }
+    }
+
+    private void drawLines(Graphics graphics) {
+        GameFieldPainter.drawLines(graphics, dimension.getWidth(), dimension.getHeight(), fieldSize);
+    }
+
+}
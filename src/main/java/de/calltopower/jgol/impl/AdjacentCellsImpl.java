@@ -28,7 +28,7 @@ public class AdjacentCellsImpl implements Initializable, AdjacentCells {
      * @param field The field
      */
     public AdjacentCellsImpl(GameField gameField, Field field) {
-        adjacentCells = new FieldImpl[3][3];
+        adjacentCells = new Field[3][3];
         this.gameField = gameField;
         this.field = field;
         init();
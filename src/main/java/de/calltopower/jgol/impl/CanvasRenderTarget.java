@@ -0,0 +1,101 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.awt.Canvas;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.calltopower.jgol.api.RenderTarget;
+import de.calltopower.jgol.utils.Constants;
+
+/**
+ * RenderTarget page flipping whole frames on a Canvas with a BufferStrategy.
+ * 
+ * Frames are driven by an active render loop on its own thread instead of the
+ * Swing paint cycle. AWT picks page flipping, an accelerated or an unaccelerated
+ * blit strategy, whichever the graphics configuration supports.
+ */
+public class CanvasRenderTarget implements RenderTarget {
+
+    private static final Logger LOGGER = LogManager.getLogger(CanvasRenderTarget.class);
+
+    private final BufferStrategy bufferStrategy;
+    private volatile Thread renderThread;
+
+    /**
+     * Constructor
+     * 
+     * @param canvas The canvas, must be displayable
+     * @throws IllegalStateException if the canvas is not displayable
+     */
+    public CanvasRenderTarget(Canvas canvas) {
+        canvas.createBufferStrategy(Constants.CANVAS_NR_OF_BUFFERS);
+        bufferStrategy = canvas.getBufferStrategy();
+        LOGGER.info("Buffer strategy: page flipping: "
+                + bufferStrategy.getCapabilities().isPageFlipping() + ", accelerated back buffer: "
+                + bufferStrategy.getCapabilities().getBackBufferCapabilities().isAccelerated());
+    }
+
+    @Override
+    public synchronized void start(Runnable frame) {
+        if (renderThread != null) {
+            return;
+        }
+        renderThread = new Thread(() -> renderLoop(frame), "jgol-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        // The render loop ends as soon as it is not the current render thread anymore
+        renderThread = null;
+    }
+
+    @Override
+    public synchronized void present(BufferedImage image, Rectangle region) {
+        // A flip always shows a whole frame, the region is not needed
+        do {
+            do {
+                Graphics graphics = bufferStrategy.getDrawGraphics();
+                graphics.drawImage(image, 0, 0, null);
+                graphics.dispose();
+            } while (bufferStrategy.contentsRestored());
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private void renderLoop(Runnable frame) {
+        long period = 1_000_000_000L / Constants.FRAME_RATE;
+        long nextFrameTime = System.nanoTime();
+        while (renderThread == Thread.currentThread()) {
+            frame.run();
+            nextFrameTime += period;
+            long wait = nextFrameTime - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else {
+                // Behind schedule, skip the missed frames
+                nextFrameTime = System.nanoTime();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,269 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.calltopower.jgol.api.ChangedWordConsumer;
+import de.calltopower.jgol.api.Simulation;
+import de.calltopower.jgol.enums.CycleAction;
+import de.calltopower.jgol.utils.Constants;
+import de.calltopower.jgol.utils.LongHashSet;
+import lombok.Getter;
+
+/**
+ * Detects when the board has become periodic (still lifes, oscillators).
+ * 
+ * The board is hashed Zobrist-style: the hash is the XOR of a random key per alive cell, the keys
+ * are derived from the cell index by a mixing function instead of a table. After the first generation
+ * the hash is updated with the words the engine reports as changed, see Simulation.forEachChangedWord,
+ * or the words of a GenerationDelta shared with the history. The board is only copied and hashed as a
+ * whole if the changed words are not known. The hashes of the
+ * last maxPeriod generations are kept in a ring and a hash set, a hash seen before marks a candidate
+ * repeat. The board of the candidate is copied once and compared with the board a period later, only
+ * then the cycle is reported, so a hash collision never reports a wrong period.
+ * 
+ * Only used by the thread owning the simulation.
+ */
+public final class CycleDetector {
+
+    private static final Logger LOGGER = LogManager.getLogger(CycleDetector.class);
+
+    private final int nrOfFields;
+    private final int wordsPerRow;
+    private final int maxPeriod;
+    private final long[] hashes;
+    private final LongHashSet recentHashes;
+    private final ChangedWordConsumer hashChange;
+    private long[] board;
+    private long[] candidate;
+    private long candidateStart;
+    private long candidateGeneration;
+    private long candidatePeriod;
+    private long lastGeneration;
+    private int nrOfHashes;
+
+    @Getter
+    private long hash;
+
+    @Getter
+    private long cycleStart;
+
+    @Getter
+    private long period;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param maxPeriod  The maximum period detected
+     */
+    public CycleDetector(int nrOfFields, int maxPeriod) {
+        this.nrOfFields = nrOfFields;
+        this.wordsPerRow = (nrOfFields + 63) >>> 6;
+        this.maxPeriod = Math.max(maxPeriod, 1);
+        this.hashes = new long[this.maxPeriod];
+        this.recentHashes = new LongHashSet(this.maxPeriod);
+        this.hashChange = (index, changed) -> hash ^= hashCells(index, changed);
+        reset();
+    }
+
+    /**
+     * Returns the cycle action set by the system property jgol.cycle
+     * 
+     * @return the cycle action, DEFAULT_CYCLE_ACTION if not set or unknown
+     */
+    public static CycleAction getCycleAction() {
+        String cycleAction = System.getProperty(Constants.CYCLE_ACTION_PROPERTY, Constants.DEFAULT_CYCLE_ACTION.name());
+        try {
+            return CycleAction.valueOf(cycleAction.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Unknown cycle action " + cycleAction + ", using " + Constants.DEFAULT_CYCLE_ACTION);
+            return Constants.DEFAULT_CYCLE_ACTION;
+        }
+    }
+
+    /**
+     * Returns whether a cycle has been detected
+     * 
+     * @return true if a cycle has been detected, false else
+     */
+    public boolean isCycleDetected() {
+        return period > 0;
+    }
+
+    /**
+     * Forgets all generations, e.g. after the board has been changed
+     */
+    public void reset() {
+        recentHashes.clear();
+        nrOfHashes = 0;
+        lastGeneration = -1;
+        hash = 0;
+        cycleStart = -1;
+        period = 0;
+        candidatePeriod = 0;
+        candidate = null;
+    }
+
+    /**
+     * Hashes the current generation of a simulation, called right after each generation. Generations have
+     * to be consecutive, any other generation starts over. Once a cycle has been detected, nothing is done
+     * until the next reset.
+     * 
+     * @param simulation The simulation
+     * @param generation The generation of the simulation
+     * @return true if the boards of a period have been compared and are equal, only the first time
+     */
+    public boolean update(Simulation simulation, long generation) {
+        return update(simulation, null, generation);
+    }
+
+    /**
+     * Hashes the current generation of a simulation with the changed words of a delta, see
+     * update(Simulation, long)
+     * 
+     * @param simulation The simulation
+     * @param delta      The words changed in the last generation, null to take them from the simulation
+     * @param generation The generation of the simulation
+     * @return true if the boards of a period have been compared and are equal, only the first time
+     */
+    public boolean update(Simulation simulation, GenerationDelta delta, long generation) {
+        if (isCycleDetected()) {
+            return false;
+        }
+        if (nrOfHashes > 0 && generation != lastGeneration + 1) {
+            reset();
+        }
+        if (nrOfHashes == 0 || !(delta != null ? delta.forEachChangedWord(hashChange)
+                : simulation.forEachChangedWord(hashChange))) {
+            hash = hashBoard(simulation);
+        }
+        lastGeneration = generation;
+
+        if (candidatePeriod > 0) {
+            // The hashes of a periodic board repeat, the ring is not updated until the candidate is checked
+            if (generation < candidateGeneration + candidatePeriod) {
+                return false;
+            }
+            if (isCandidate(simulation)) {
+                cycleStart = candidateStart;
+                period = candidatePeriod;
+                candidate = null;
+                return true;
+            }
+            LOGGER.warn("Hash collision of generation " + candidateStart + " and " + candidateGeneration
+                    + ", the boards differ");
+            reset();
+            return false;
+        }
+        if (recentHashes.contains(hash)) {
+            candidateStart = findHash(generation);
+            candidateGeneration = generation;
+            candidatePeriod = generation - candidateStart;
+            if (candidate == null) {
+                candidate = new long[nrOfFields * wordsPerRow];
+            }
+            simulation.copyTo(candidate);
+            return false;
+        }
+        int slot = (int) (generation % maxPeriod);
+        if (nrOfHashes == maxPeriod) {
+            recentHashes.remove(hashes[slot]);
+        } else {
+            ++nrOfHashes;
+        }
+        hashes[slot] = hash;
+        recentHashes.add(hash);
+        return false;
+    }
+
+    /**
+     * Returns the latest earlier generation in the ring with the current hash
+     * 
+     * @param generation The current generation
+     * @return the earlier generation
+     */
+    private long findHash(long generation) {
+        // The ring holds the hashes of the last nrOfHashes generations
+        for (long g = generation - 1; g >= generation - nrOfHashes; --g) {
+            if (hashes[(int) (g % maxPeriod)] == hash) {
+                return g;
+            }
+        }
+        throw new IllegalStateException("Hash of generation " + generation + " is not in the last " + nrOfHashes
+                + " generations");
+    }
+
+    /**
+     * Returns whether the board of a simulation equals the board of the candidate
+     * 
+     * @param simulation The simulation
+     * @return true if the boards are equal, false else
+     */
+    private boolean isCandidate(Simulation simulation) {
+        copyBoard(simulation);
+        return Arrays.equals(board, candidate);
+    }
+
+    /**
+     * Hashes the board of a simulation
+     * 
+     * @param simulation The simulation
+     * @return the hash
+     */
+    private long hashBoard(Simulation simulation) {
+        copyBoard(simulation);
+        long h = 0;
+        for (int i = 0; i < board.length; ++i) {
+            h ^= hashCells(i, board[i]);
+        }
+        return h;
+    }
+
+    private void copyBoard(Simulation simulation) {
+        if (board == null) {
+            board = new long[nrOfFields * wordsPerRow];
+        }
+        simulation.copyTo(board);
+    }
+
+    /**
+     * Returns the XOR of the keys of the set cells of a word
+     * 
+     * @param wordIndex The index of the word in the packed bits
+     * @param word      The word
+     * @return the XOR of the keys
+     */
+    private long hashCells(int wordIndex, long word) {
+        long h = 0;
+        long cell = (long) (wordIndex / wordsPerRow) * nrOfFields + (long) (wordIndex % wordsPerRow) * 64;
+        while (word != 0) {
+            h ^= getKey(cell + Long.numberOfTrailingZeros(word));
+            word &= word - 1;
+        }
+        return h;
+    }
+
+    /**
+     * Returns the key of a cell (SplitMix64 finalizer)
+     * 
+     * @param cell The index of the cell
+     * @return the key
+     */
+    private static long getKey(long cell) {
+        long z = cell * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -6,7 +6,6 @@
 
 package de.calltopower.jgol.impl;
 
-import java.awt.Color;
 import java.awt.Graphics;
 
 import de.calltopower.jgol.api.Field;
@@ -19,11 +18,6 @@ import lombok.Setter;
  */
 public class FieldImpl implements Field {
 
-    private Color colorActive = Color.white;
-    private Color colorInactive = Color.black;
-    private Color colorHighlightedActive = Color.blue;
-    private Color colorHighlightedInactive = Color.yellow;
-
     @Getter
     private int x;
 
@@ -74,12 +68,7 @@ public class FieldImpl implements Field {
     @Override
     public void draw(Graphics graphics) {
         boolean active = value == FieldValue.ACTIVE;
-        if (active) {
-            graphics.setColor(highlighted ? colorHighlightedActive : colorActive);
-        } else {
-            graphics.setColor(highlighted ? colorHighlightedInactive : colorInactive);
-        }
-        graphics.fillRect(y * size, x * size, size, size);
+        GameFieldPainter.drawField(graphics, x, y, size, active, highlighted);
         // graphics.setColor(active ? colorInactive : colorActive);
         // graphics.setFont(new Font("TimesRoman", Font.PLAIN, 12));
         // graphics.drawString(String.valueOf(x).concat("-").concat(String.valueOf(y)),
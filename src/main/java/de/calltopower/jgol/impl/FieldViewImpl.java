@@ -0,0 +1,86 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.awt.Graphics;
+
+import de.calltopower.jgol.api.Field;
+import de.calltopower.jgol.enums.FieldValue;
+import lombok.Getter;
+
+/**
+ * Field implementation viewing a single cell of a game field without Field objects
+ */
+public class FieldViewImpl implements Field {
+
+    private AbstractGameField gameField;
+
+    @Getter
+    private int x;
+
+    @Getter
+    private int y;
+
+    @Getter
+    private int size;
+
+    /**
+     * Constructor
+     * 
+     * @param gameField The game field holding the cell
+     * @param x         Row
+     * @param y         Column
+     * @param size      The size
+     */
+    FieldViewImpl(AbstractGameField gameField, int x, int y, int size) {
+        this.gameField = gameField;
+        this.x = x;
+        this.y = y;
+        this.size = size;
+    }
+
+    @Override
+    public FieldValue getValue() {
+        return gameField.getValue(x, y);
+    }
+
+    @Override
+    public boolean isHighlighted() {
+        return gameField.isHighlighted(x, y);
+    }
+
+    @Override
+    public boolean isInside(int xCoord, int yCoord) {
+        return xCoord > (x * size) && xCoord < (x * size + size) && yCoord > (y * size) && yCoord < (y * size + size);
+    }
+
+    @Override
+    public void setValue(FieldValue value) {
+        gameField.set(x, y, value);
+    }
+
+    @Override
+    public void toggleValue() {
+        setValue(getValue() == FieldValue.ACTIVE ? FieldValue.INACTIVE : FieldValue.ACTIVE);
+    }
+
+    @Override
+    public void setHighlighted(boolean highlighted) {
+        gameField.setHighlighted(x, y, highlighted);
+    }
+
+    @Override
+    public void draw(Graphics graphics) {
+        GameFieldPainter.drawField(graphics, x, y, size, getValue() == FieldValue.ACTIVE, isHighlighted());
+    }
+
+    @Override
+    public void redraw(Graphics graphics) {
+        draw(graphics);
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.enums.FieldValue;
+
+/**
+ * Creates game fields for an engine type
+ */
+public final class GameFieldFactory {
+
+    private static final Logger LOGGER = LogManager.getLogger(GameFieldFactory.class);
+
+    private static final String VECTOR_GAME_FIELD_CLASS = "de.calltopower.jgol.impl.VectorGameFieldImpl";
+
+    private GameFieldFactory() {
+        // Nothing to see here...
+    }
+
+    /**
+     * Creates an empty game field
+     * 
+     * @param engineType  The engine type
+     * @param nrOfFields  The number of fields
+     * @param fieldSize   The field size
+     * @param parallelism The parallelism level (for parallel engines)
+     * @return the game field
+     */
+    public static GameField create(EngineType engineType, int nrOfFields, int fieldSize, int parallelism) {
+        switch (engineType) {
+        case OBJECT:
+            return new GameFieldImpl(nrOfFields, fieldSize);
+        case SWAR:
+            return new SwarGameFieldImpl(nrOfFields, fieldSize);
+        case VECTOR:
+            return createVectorGameField(nrOfFields, fieldSize);
+        case PARALLEL:
+            return new ParallelGameFieldImpl(nrOfFields, fieldSize, parallelism);
+        case TILED:
+            return new TiledGameFieldImpl(nrOfFields, fieldSize);
+        case HASHLIFE:
+            return new HashLifeGameFieldImpl(nrOfFields, fieldSize);
+        case SPARSE:
+            return new SparseGameFieldImpl(nrOfFields, fieldSize);
+        case PACKED:
+        default:
+            return new PackedGameFieldImpl(nrOfFields, fieldSize);
+        }
+    }
+
+    /**
+     * Copies all active fields from one game field to an empty game field of the same size
+     * 
+     * @param from       The source game field
+     * @param to         The (empty) target game field
+     * @param nrOfFields The number of fields
+     */
+    public static void copy(GameField from, GameField to, int nrOfFields) {
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int j = 0; j < nrOfFields; ++j) {
+                FieldValue value = from.getValue(i, j);
+                if (value == FieldValue.ACTIVE) {
+                    to.set(i, j, value);
+                }
+            }
+        }
+    }
+
+    private static GameField createVectorGameField(int nrOfFields, int fieldSize) {
+        try {
+            return (GameField) Class.forName(VECTOR_GAME_FIELD_CLASS)
+                    .getConstructor(int.class, int.class)
+                    .newInstance(nrOfFields, fieldSize);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.warn("Vector API engine not available, falling back to SWAR: " + e);
+            return new SwarGameFieldImpl(nrOfFields, fieldSize);
+        }
+    }
+
+}
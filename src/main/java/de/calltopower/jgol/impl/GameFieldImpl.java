@@ -6,11 +6,11 @@
 
 package de.calltopower.jgol.impl;
 
-import java.awt.Color;
 import java.awt.Graphics;
+import java.util.Arrays;
 import java.util.Random;
 
-import de.calltopower.jgol.api.AdjacentCells;
+import de.calltopower.jgol.api.ChangedWordConsumer;
 import de.calltopower.jgol.api.Field;
 import de.calltopower.jgol.api.FieldDimension;
 import de.calltopower.jgol.api.GameField;
@@ -27,7 +27,11 @@ public class GameFieldImpl implements GameField {
     private FieldDimension dimension;
     private FieldDimension currentArraySize;
     private Field[][] fieldBackbuffer;
-    private Color colorLines = Color.red;
+    private int highlightedX;
+    private int highlightedY;
+    private int nrOfAliveCells;
+    private int nrOfBirths;
+    private int nrOfDeaths;
 
     @Getter
     private Field[][] field;
@@ -49,6 +53,13 @@ public class GameFieldImpl implements GameField {
         field = new FieldImpl[currentArraySize.getWidth()][currentArraySize.getHeight()];
         fieldBackbuffer = new FieldImpl[currentArraySize.getWidth()][currentArraySize.getHeight()];
         initFieldsWith(FieldValue.INACTIVE);
+        highlightedX = -1;
+        highlightedY = -1;
+    }
+
+    @Override
+    public int getNrOfFields() {
+        return nrOfFields;
     }
 
     @Override
@@ -59,24 +70,44 @@ public class GameFieldImpl implements GameField {
         return getField()[x][y];
     }
 
+    @Override
+    public FieldValue getValue(int x, int y) {
+        return get(x, y).getValue();
+    }
+
+    @Override
+    public boolean isHighlighted(int x, int y) {
+        return get(x, y).isHighlighted();
+    }
+
     @Override
     public void highlightField(int xCoord, int yCoord) {
-        for (Field[] aField : getField()) {
-            for (int j = 0; j < getField()[0].length; ++j) {
-                aField[j].setHighlighted(aField[j].isInside(yCoord, xCoord));
-            }
+        int x = yCoord / fieldSize;
+        int y = xCoord / fieldSize;
+        if (xCoord < 0 || yCoord < 0 || !isValidCoordinate(x, y)) {
+            x = -1;
+            y = -1;
+        }
+        if (x == highlightedX && y == highlightedY) {
+            return;
+        }
+        if (highlightedX >= 0) {
+            field[highlightedX][highlightedY].setHighlighted(false);
+        }
+        if (x >= 0) {
+            field[x][y].setHighlighted(true);
         }
+        highlightedX = x;
+        highlightedY = y;
     }
 
     @Override
     public void toggleField(int xCoord, int yCoord) {
-        for (Field[] aField : getField()) {
-            for (int j = 0; j < getField()[0].length; ++j) {
-                if (aField[j].isInside(yCoord, xCoord)) {
-                    aField[j].toggleValue();
-                    return;
-                }
-            }
+        int x = yCoord / fieldSize;
+        int y = xCoord / fieldSize;
+        if (xCoord >= 0 && yCoord >= 0 && isValidCoordinate(x, y)) {
+            setValue(field[x][y], field[x][y].getValue() == FieldValue.ACTIVE ? FieldValue.INACTIVE
+                    : FieldValue.ACTIVE);
         }
     }
 
@@ -85,7 +116,7 @@ public class GameFieldImpl implements GameField {
         if (!isValidCoordinate(x, y)) {
             throw new IndexOutOfBoundsException();
         }
-        getField()[x][y].setValue(value);
+        setValue(getField()[x][y], value);
         return true;
     }
 
@@ -101,7 +132,7 @@ public class GameFieldImpl implements GameField {
         }
         for (int i = 0; i < field.length; ++i) {
             for (int j = 0; j < field[0].length; ++j) {
-                field[i][j].setValue(values[i][j]);
+                setValue(field[i][j], values[i][j]);
             }
         }
 
@@ -115,41 +146,79 @@ public class GameFieldImpl implements GameField {
 
     @Override
     public void generateNewGeneration() {
+        int births = 0;
+        int deaths = 0;
         for (int i = 0; i < field.length; ++i) {
             for (int j = 0; j < field[0].length; ++j) {
                 Field currF = field[i][j];
-                fieldBackbuffer[i][j] = new FieldImpl(currF.getX(), currF.getY(), currF.getSize(), currF.getValue());
-                AdjacentCells adjacentCells = new AdjacentCellsImpl(this, currF);
-                int nrOfNeighbors = adjacentCells.getNumberOfActiveNeighbors();
-                if (fieldBackbuffer[i][j].getValue() == FieldValue.ACTIVE) {
+                Field nextF = fieldBackbuffer[i][j];
+                int nrOfNeighbors = getNumberOfActiveNeighbors(i, j);
+                if (currF.getValue() == FieldValue.ACTIVE) {
                     // Each cell with one or no neighbors dies
                     // Each cell with four or more neighbors dies
                     // Each cell with two or three neighbors survives.
                     if (nrOfNeighbors < 2 || nrOfNeighbors > 3) {
-                        fieldBackbuffer[i][j].setValue(FieldValue.INACTIVE);
+                        nextF.setValue(FieldValue.INACTIVE);
+                        ++deaths;
+                    } else {
+                        nextF.setValue(FieldValue.ACTIVE);
                     }
-                } else {
+                } else if (nrOfNeighbors == 3) {
                     // Each cell with three neighbors becomes populated.
-                    if (nrOfNeighbors == 3) {
-                        fieldBackbuffer[i][j].setValue(FieldValue.ACTIVE);
-                    }
+                    nextF.setValue(FieldValue.ACTIVE);
+                    ++births;
+                } else {
+                    nextF.setValue(FieldValue.INACTIVE);
                 }
             }
         }
-        for (int i = 0; i < field.length; ++i) {
-            // System.arraycopy(fieldBackbuffer[i], 0, field[i], 0, field[0].length);
-            for (int j = 0; j < field[0].length; ++j) {
-                field[i][j] = fieldBackbuffer[i][j];
-            }
+        Field[][] tmp = field;
+        field = fieldBackbuffer;
+        fieldBackbuffer = tmp;
+        nrOfBirths = births;
+        nrOfDeaths = deaths;
+        nrOfAliveCells += births - deaths;
+        if (highlightedX >= 0) {
+            fieldBackbuffer[highlightedX][highlightedY].setHighlighted(false);
+            field[highlightedX][highlightedY].setHighlighted(true);
+        }
+    }
+
+    @Override
+    public void generateNewGenerations(long generations) {
+        for (long i = 0; i < generations; ++i) {
+            generateNewGeneration();
         }
     }
 
     @Override
     public int getNrOfAliveCells() {
+        return nrOfAliveCells;
+    }
+
+    @Override
+    public int getNrOfBirths() {
+        return nrOfBirths;
+    }
+
+    @Override
+    public int getNrOfDeaths() {
+        return nrOfDeaths;
+    }
+
+    @Override
+    public boolean forEachChangedWord(ChangedWordConsumer consumer) {
+        return false;
+    }
+
+    @Override
+    public int getNrOfAliveCells(int x, int y, int rows, int columns) {
+        int rowEnd = Math.min(x + rows, field.length);
+        int colEnd = Math.min(y + columns, field[0].length);
         int count = 0;
-        for (int i = 0; i < field.length; ++i) {
-            for (int j = 0; j < field[0].length; ++j) {
-                if (field[i][j].getValue().equals(FieldValue.ACTIVE)) {
+        for (int i = Math.max(x, 0); i < rowEnd; ++i) {
+            for (int j = Math.max(y, 0); j < colEnd; ++j) {
+                if (field[i][j].getValue() == FieldValue.ACTIVE) {
                     ++count;
                 }
             }
@@ -158,6 +227,30 @@ public class GameFieldImpl implements GameField {
         return count;
     }
 
+    @Override
+    public void copyTo(long[] bits) {
+        int wordsPerRow = (field[0].length + 63) >>> 6;
+        Arrays.fill(bits, 0, field.length * wordsPerRow, 0L);
+        for (int i = 0; i < field.length; ++i) {
+            for (int j = 0; j < field[0].length; ++j) {
+                if (field[i][j].getValue() == FieldValue.ACTIVE) {
+                    bits[i * wordsPerRow + (j >>> 6)] |= 1L << (j & 63);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void copyFrom(long[] bits) {
+        int wordsPerRow = (field[0].length + 63) >>> 6;
+        for (int i = 0; i < field.length; ++i) {
+            for (int j = 0; j < field[0].length; ++j) {
+                setValue(field[i][j], ((bits[i * wordsPerRow + (j >>> 6)] >>> (j & 63)) & 1L) != 0
+                        ? FieldValue.ACTIVE : FieldValue.INACTIVE);
+            }
+        }
+    }
+
     @Override
     public void draw(Graphics graphics) {
         drawFields(graphics);
@@ -185,11 +278,24 @@ public class GameFieldImpl implements GameField {
     private void seed(Random random) {
         for (Field[] aField : field) {
             for (int j = 0; j < field[0].length; ++j) {
-                aField[j].setValue(random.nextBoolean() ? FieldValue.ACTIVE : FieldValue.INACTIVE);
+                setValue(aField[j], random.nextBoolean() ? FieldValue.ACTIVE : FieldValue.INACTIVE);
             }
         }
     }
 
+    /**
+     * Sets the value of a field of the current generation and keeps the number of alive cells up to date
+     * 
+     * @param f     The field
+     * @param value The value
+     */
+    private void setValue(Field f, FieldValue value) {
+        if (f.getValue() != value) {
+            nrOfAliveCells += value == FieldValue.ACTIVE ? 1 : -1;
+        }
+        f.setValue(value);
+    }
+
     private void drawFields(Graphics graphics) {
         for (Field[] aField : field) {
             for (int j = 0; j < field[0].length; ++j) {
@@ -199,20 +305,29 @@ public class GameFieldImpl implements GameField {
     }
 
     private void drawLines(Graphics graphics) {
-        graphics.setColor(colorLines);
-        int stepHoriz = dimension.getWidth() / currentArraySize.getWidth();
-        for (int i = stepHoriz; i < dimension.getWidth(); i += stepHoriz) {
-            graphics.drawLine(i, 0, i, dimension.getWidth());
-            graphics.setColor(Color.red);
-        }
-        int stepVert = dimension.getHeight() / currentArraySize.getWidth();
-        for (int i = stepVert; i < dimension.getHeight(); i += stepVert) {
-            graphics.drawLine(0, i, dimension.getHeight(), i);
+        GameFieldPainter.drawLines(graphics, dimension.getWidth(), dimension.getHeight(),
+                dimension.getWidth() / currentArraySize.getWidth());
+    }
+
+    private int getNumberOfActiveNeighbors(int x, int y) {
+        int rowStart = Math.max(x - 1, 0);
+        int rowEnd = Math.min(x + 1, field.length - 1);
+        int colStart = Math.max(y - 1, 0);
+        int colEnd = Math.min(y + 1, field[0].length - 1);
+        int nr = 0;
+        for (int i = rowStart; i <= rowEnd; ++i) {
+            for (int j = colStart; j <= colEnd; ++j) {
+                if (!(i == x && j == y) && field[i][j].getValue() == FieldValue.ACTIVE) {
+                    ++nr;
+                }
+            }
         }
+
+        return nr;
     }
 
     private boolean isValidCoordinate(int x, int y) {
-        return x >= 0 && x < dimension.getWidth() && y >= 0 && y < dimension.getHeight();
+        return x >= 0 && x < field.length && y >= 0 && y < field[0].length;
     }
 
     private FieldDimensionImpl calculateArraySize() {
@@ -0,0 +1,66 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.awt.Color;
+import java.awt.Graphics;
+
+/**
+ * Paints fields and grid lines.
+ * Keeps java.awt out of the simulation classes, it is only loaded once something is drawn.
+ */
+final class GameFieldPainter {
+
+    static final Color COLOR_ACTIVE = Color.white;
+    static final Color COLOR_INACTIVE = Color.black;
+    static final Color COLOR_HIGHLIGHTED_ACTIVE = Color.blue;
+    static final Color COLOR_HIGHLIGHTED_INACTIVE = Color.yellow;
+    static final Color COLOR_LINES = Color.red;
+    static final Color COLOR_OUTSIDE = Color.darkGray;
+
+    private GameFieldPainter() {
+        // Nothing to see here...
+    }
+
+    /**
+     * Paints a field
+     * 
+     * @param graphics    The graphics
+     * @param x           Row
+     * @param y           Column
+     * @param size        The field size
+     * @param active      Boolean flag whether the field is active
+     * @param highlighted Boolean flag whether the field is highlighted
+     */
+    static void drawField(Graphics graphics, int x, int y, int size, boolean active, boolean highlighted) {
+        if (active) {
+            graphics.setColor(highlighted ? COLOR_HIGHLIGHTED_ACTIVE : COLOR_ACTIVE);
+        } else {
+            graphics.setColor(highlighted ? COLOR_HIGHLIGHTED_INACTIVE : COLOR_INACTIVE);
+        }
+        graphics.fillRect(y * size, x * size, size, size);
+    }
+
+    /**
+     * Paints the grid lines
+     * 
+     * @param graphics The graphics
+     * @param width    The width in pixels
+     * @param height   The height in pixels
+     * @param step     The distance of two lines in pixels
+     */
+    static void drawLines(Graphics graphics, int width, int height, int step) {
+        graphics.setColor(COLOR_LINES);
+        for (int i = step; i < width; i += step) {
+            graphics.drawLine(i, 0, i, width);
+        }
+        for (int i = step; i < height; i += step) {
+            graphics.drawLine(0, i, height, i);
+        }
+    }
+
+}
@@ -9,40 +9,102 @@ package de.calltopower.jgol.impl;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import de.calltopower.jgol.api.FieldDimension;
 import de.calltopower.jgol.api.Game;
 import de.calltopower.jgol.api.GameField;
 import de.calltopower.jgol.api.Initializable;
+import de.calltopower.jgol.api.RenderTarget;
+import de.calltopower.jgol.api.Viewport;
+import de.calltopower.jgol.enums.CycleAction;
+import de.calltopower.jgol.enums.EngineType;
 import de.calltopower.jgol.enums.FieldValue;
+import de.calltopower.jgol.utils.Checkpointer;
 import de.calltopower.jgol.utils.Constants;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
- * Game implementation
+ * Game implementation.
+ * 
+ * The game loop computes generations on its own thread, either as fast as possible
+ * (generation timeout 0) or paced to the generation timeout. The render target
+ * renders the latest completed generation at a capped frame rate, frames may be
+ * skipped but generations never are.
+ * 
+ * Only the thread owning the simulation touches the game field: the game loop while
+ * it runs, the calling thread else. Edits are queued as commands and applied between
+ * two generations. The renderer never reads the game field, it reads snapshots that
+ * are published by swapping two buffers, so rendering never stalls the game loop.
  */
 public class GameImpl implements Initializable, Game {
 
-    private JPanel panel;
+    private static final Logger LOGGER = LogManager.getLogger(GameImpl.class);
+
+    private RenderTarget renderTarget;
     private BufferedImage backBuffer;
-    private Graphics panelGraphics;
+    private PixelRenderer pixelRenderer;
     private Graphics backBufferGraphics;
-    private long generations;
-    private boolean gameLoopRunning;
-    private boolean run;
+    private Font infoFont;
+    private String infoText;
+    private int highlightedX;
+    private int highlightedY;
+    private final Object renderLock;
+    private final Object simulationLock;
+    private final Queue<Runnable> commands;
+    private final AtomicReference<GenerationSnapshot> publishedSnapshot;
+    private final AtomicReference<GenerationSnapshot> freeSnapshot;
+    private final GenerationSnapshot[] snapshots;
+    private GenerationSnapshot snapshot;
+    private final AtomicBoolean gameLoopRunning;
+    private volatile long generations;
+    private volatile boolean run;
+    private long rateStartTime;
+    private int rateFrames;
+    private double framesPerSecond;
     private int nrAllCells;
     private FieldDimension fieldDimension;
+    private Viewport viewport;
+    private final Checkpointer checkpointer;
+    private final GenerationHistory history;
+    private final GenerationDelta delta;
+    private final CycleAction cycleAction;
+    private final CycleDetector cycleDetector;
+    private volatile GameField gameField;
+    // Guarded by renderLock
+    private boolean disposed;
+
+    @Getter
+    private final GameMetricsImpl metrics;
 
     @Getter
-    private GameField gameField;
+    private volatile long seed;
+
+    @Getter
+    private EngineType engineType;
+
+    @Getter
+    private int parallelism;
 
     @Getter
     @Setter
-    private long generationTimeout;
+    private volatile long generationTimeout;
 
     @Getter
     private int nrOfFields;
@@ -50,6 +112,9 @@ public class GameImpl implements Initializable, Game {
     @Getter
     private int fieldSize;
 
+    @Getter
+    private final boolean historyEnabled;
+
     /**
      * Constructor
      * 
@@ -58,65 +123,259 @@ public class GameImpl implements Initializable, Game {
      * @param fieldSize  The field size
      */
     public GameImpl(JPanel panel, int nrOfFields, int fieldSize) {
-        this.panel = panel;
+        this(new PanelRenderTarget(panel), nrOfFields, fieldSize);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param renderTarget The render target
+     * @param nrOfFields   The number of fields
+     * @param fieldSize    The field size
+     */
+    public GameImpl(RenderTarget renderTarget, int nrOfFields, int fieldSize) {
+        this(renderTarget, nrOfFields, fieldSize, null, 0, 0);
+    }
+
+    /**
+     * Constructor, starts with a game field instead of a random seed
+     * 
+     * @param renderTarget The render target
+     * @param gameField    The game field, of the default engine type and parallelism
+     * @param fieldSize    The field size
+     */
+    public GameImpl(RenderTarget renderTarget, GameField gameField, int fieldSize) {
+        this(renderTarget, gameField.getNrOfFields(), fieldSize, gameField, 0, 0);
+    }
+
+    /**
+     * Constructor, resumes a game field, e.g. from a checkpoint
+     * 
+     * @param renderTarget The render target
+     * @param gameField    The game field, of the default engine type and parallelism
+     * @param fieldSize    The field size
+     * @param generation   The generation of the game field
+     * @param seed         The seed of the initial generation
+     */
+    public GameImpl(RenderTarget renderTarget, GameField gameField, int fieldSize, long generation, long seed) {
+        this(renderTarget, gameField.getNrOfFields(), fieldSize, gameField, generation, seed);
+    }
+
+    private GameImpl(RenderTarget renderTarget, int nrOfFields, int fieldSize, GameField initialGameField,
+            long initialGeneration, long initialSeed) {
+        this.renderTarget = renderTarget;
         this.nrOfFields = nrOfFields;
         this.fieldSize = fieldSize;
 
-        gameLoopRunning = false;
+        renderLock = new Object();
+        simulationLock = new Object();
+        commands = new ConcurrentLinkedQueue<>();
+        // The renderer holds one snapshot, the other one is free or published
+        snapshots = new GenerationSnapshot[] { new GenerationSnapshot(this.nrOfFields),
+                new GenerationSnapshot(this.nrOfFields) };
+        snapshot = snapshots[0];
+        freeSnapshot = new AtomicReference<>(snapshots[1]);
+        publishedSnapshot = new AtomicReference<>();
+        metrics = new GameMetricsImpl();
+        metrics.register();
+        infoFont = new Font("TimesRoman", Font.PLAIN, 16);
+        highlightedX = -1;
+        highlightedY = -1;
+        gameLoopRunning = new AtomicBoolean(false);
         generations = 0;
         run = false;
+        engineType = Constants.DEFAULT_ENGINE_TYPE;
+        parallelism = Constants.DEFAULT_PARALLELISM;
 
-        int val = this.nrOfFields * this.fieldSize;
+        int val = ViewportImpl.getSize(this.nrOfFields, this.fieldSize);
         fieldDimension = new FieldDimensionImpl(val, val);
+        viewport = new ViewportImpl(val, val, this.nrOfFields, this.fieldSize);
 
         this.nrAllCells = this.nrOfFields * this.nrOfFields;
+        checkpointer = new Checkpointer(Constants.JGOL_DATA_NAME);
+        history = new GenerationHistory(this.nrOfFields, Constants.HISTORY_MAX_BYTES,
+                Constants.HISTORY_MAX_GENERATIONS, Constants.HISTORY_KEYFRAME_INTERVAL);
+        historyEnabled = Boolean.parseBoolean(System.getProperty(Constants.HISTORY_PROPERTY, "true"));
+        cycleAction = CycleDetector.getCycleAction();
+        cycleDetector = cycleAction != CycleAction.NONE
+                ? new CycleDetector(this.nrOfFields, Constants.CYCLE_MAX_PERIOD)
+                : null;
+        delta = new GenerationDelta(this.nrOfFields);
 
         resetGenerationTimeout();
-        init();
+        if (initialGameField == null) {
+            init();
+        } else {
+            synchronized (renderLock) {
+                createBackBuffer();
+                submit(() -> {
+                    gameField = initialGameField;
+                    generations = initialGeneration;
+                    seed = initialSeed;
+                    checkpointer.start(initialGeneration);
+                });
+                resetRates();
+                redraw(null);
+            }
+        }
     }
 
     @Override
     public void init() {
-        if (!gameLoopRunning) {
+        if (!gameLoopRunning.get()) {
             reset();
         }
     }
 
+    @Override
+    public GameField getGameField() {
+        long[] bits = new long[nrOfFields * ((nrOfFields + 63) >>> 6)];
+        synchronized (renderLock) {
+            snapshot.copyTo(bits);
+        }
+        GameField copy = GameFieldFactory.create(engineType, nrOfFields, fieldSize, parallelism);
+        copy.copyFrom(bits);
+
+        return copy;
+    }
+
     @Override
     public FieldValue getFieldValue(int x, int y) {
-        return getGameField().get(x, y).getValue();
+        synchronized (renderLock) {
+            return snapshot.getValue(x, y);
+        }
     }
 
     @Override
     public boolean isRunning() {
-        return gameLoopRunning;
+        return gameLoopRunning.get();
     }
 
     @Override
     public boolean setValues(FieldValue[][] values) {
-        // clear();
-        boolean set = getGameField().setValues(values);
-        redraw(null);
+        if (!(values.length == nrOfFields) || !(values[0].length == nrOfFields)) {
+            return false;
+        }
+        if (submit(() -> gameField.setValues(values))) {
+            redraw(null);
+        }
 
-        return set;
+        return true;
+    }
+
+    @Override
+    public boolean setValues(long[] bits) {
+        if (bits.length < nrOfFields * ((nrOfFields + 63) >>> 6)) {
+            return false;
+        }
+        if (submit(() -> gameField.copyFrom(bits))) {
+            redraw(null);
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean setGameField(GameField gameField) {
+        if (gameField.getNrOfFields() != nrOfFields) {
+            return false;
+        }
+        if (submit(() -> {
+            this.gameField = gameField;
+            generations = 0;
+            seed = 0;
+            checkpointer.start(0);
+        })) {
+            redraw(null);
+        }
+
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<long[]> copyGeneration() {
+        CompletableFuture<long[]> generation = new CompletableFuture<>();
+        submit(() -> {
+            long[] bits = new long[nrOfFields * ((nrOfFields + 63) >>> 6)];
+            gameField.copyTo(bits);
+            generation.complete(bits);
+        });
+
+        return generation;
+    }
+
+    @Override
+    public void setEngineType(EngineType engineType) {
+        this.engineType = engineType;
+        submit(this::changeEngine);
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        if (engineType == EngineType.PARALLEL) {
+            submit(this::changeEngine);
+        }
     }
 
     @Override
     public void toggleField(int x, int y) {
-        getGameField().toggleField(x, y);
-        redraw(null);
+        synchronized (renderLock) {
+            int row = viewport.getRow(y);
+            int col = viewport.getColumn(x);
+            // Zoomed out, a pixel shows several cells
+            if (viewport.getCellsPerPixel() > 1 || !isInside(x, y, row, col)) {
+                return;
+            }
+            // The game field maps coordinates with the field size
+            if (submit(() -> gameField.toggleField(col * fieldSize, row * fieldSize))) {
+                redraw(null);
+            }
+        }
+    }
+
+    @Override
+    public void zoomIn(int x, int y) {
+        synchronized (renderLock) {
+            if (viewport.zoomIn(x, y)) {
+                viewportChanged();
+            }
+        }
+    }
+
+    @Override
+    public void zoomOut(int x, int y) {
+        synchronized (renderLock) {
+            if (viewport.zoomOut(x, y)) {
+                viewportChanged();
+            }
+        }
+    }
+
+    @Override
+    public void pan(int dx, int dy) {
+        synchronized (renderLock) {
+            if (viewport.pan(dx, dy)) {
+                viewportChanged();
+            }
+        }
     }
 
     @Override
     public void reset() {
-        backBuffer = new BufferedImage(fieldDimension.getWidth(),
-                fieldDimension.getHeight() + Constants.INFO_FIELD_SIZE, BufferedImage.TYPE_INT_RGB);
-        gameField = new GameFieldImpl(nrOfFields, fieldSize);
-        gameLoopRunning = false;
-        generations = 0;
-        run = false;
-        getGameField().seed();
-        redraw(null);
+        pause();
+        synchronized (renderLock) {
+            createBackBuffer();
+            submit(() -> {
+                gameField = GameFieldFactory.create(engineType, nrOfFields, fieldSize, parallelism);
+                generations = 0;
+                seed = new Random().nextLong();
+                gameField.seed(seed);
+                checkpointer.start(0);
+            });
+            resetRates();
+            redraw(null);
+        }
     }
 
     @Override
@@ -126,15 +385,60 @@ public class GameImpl implements Initializable, Game {
 
     @Override
     public void loop() {
-        if (!gameLoopRunning) {
-            gameLoopRunning = true;
+        if (gameLoopRunning.compareAndSet(false, true)) {
             run = true;
+            synchronized (renderLock) {
+                resetRates();
+            }
+            renderTarget.start(this::renderFrame);
 
+            long nextGenerationTime = System.nanoTime();
             while (run) {
-                generateNextGenerationInternal();
-                sleep(generationTimeout);
+                // Only contended while the loop starts or stops
+                synchronized (simulationLock) {
+                    applyCommands();
+                    if (!run) {
+                        break;
+                    }
+                    step();
+                    for (GenerationSnapshot changed : snapshots) {
+                        changed.markChanged(gameField);
+                    }
+                    // The changed words are collected once for the history and the cycle detector
+                    if (historyEnabled || cycleDetector != null) {
+                        delta.update(gameField);
+                    }
+                    if (historyEnabled) {
+                        history.record(gameField, delta, generations);
+                    }
+                    detectCycle();
+                    publishSnapshot(false);
+                    if (checkpointer.isDue(generations)) {
+                        checkpointer.checkpoint(gameField, generations, seed, fieldSize);
+                    }
+                }
+
+                long timeout = generationTimeout * 1_000_000L;
+                if (timeout > 0) {
+                    nextGenerationTime += timeout;
+                    long wait = nextGenerationTime - System.nanoTime();
+                    if (wait > 0) {
+                        sleep(wait);
+                    } else {
+                        // Behind schedule, do not try to catch up
+                        nextGenerationTime = System.nanoTime();
+                    }
+                }
             }
-            gameLoopRunning = false;
+            renderTarget.stop();
+            gameLoopRunning.set(false);
+            // Commands submitted while the loop was stopping
+            synchronized (simulationLock) {
+                applyCommands();
+                publishSnapshot(true);
+            }
+            SwingUtilities.invokeLater(this::renderFrame);
+            LOGGER.info("Metrics: " + metrics);
         }
     }
 
@@ -143,78 +447,307 @@ public class GameImpl implements Initializable, Game {
         run = false;
     }
 
+    @Override
+    public void dispose() {
+        synchronized (renderLock) {
+            disposed = true;
+        }
+        pause();
+    }
+
     @Override
     public void clear() {
-        backBuffer = new BufferedImage(fieldDimension.getWidth(),
-                fieldDimension.getHeight() + Constants.INFO_FIELD_SIZE, BufferedImage.TYPE_INT_RGB);
-        gameField = new GameFieldImpl(nrOfFields, fieldSize);
-        gameLoopRunning = false;
-        generations = 0;
-        run = false;
-        redraw(null);
+        pause();
+        synchronized (renderLock) {
+            createBackBuffer();
+            submit(() -> {
+                gameField = GameFieldFactory.create(engineType, nrOfFields, fieldSize, parallelism);
+                generations = 0;
+                seed = 0;
+                checkpointer.start(0);
+            });
+            resetRates();
+            redraw(null);
+        }
     }
 
     @Override
     public void generateNextGeneration() {
-        if (!gameLoopRunning) {
-            generateNextGenerationInternal();
+        if (!gameLoopRunning.get() && submit(this::step)) {
+            redraw(null);
         }
     }
 
+    @Override
+    public void stepBack() {
+        restoreGeneration(() -> generations - 1);
+    }
+
+    @Override
+    public void rewind() {
+        restoreGeneration(history::getFirstGeneration);
+    }
+
+    @Override
+    public void goToGeneration(long generation) {
+        restoreGeneration(() -> generation);
+    }
+
     @Override
     public void highlightField(int x, int y) {
-        getGameField().highlightField(x, y);
-        redraw(null);
+        synchronized (renderLock) {
+            int row = viewport.getRow(y);
+            int col = viewport.getColumn(x);
+            if (viewport.getCellsPerPixel() > 1 || !isInside(x, y, row, col)) {
+                row = -1;
+                col = -1;
+            }
+            if (row == highlightedX && col == highlightedY) {
+                return;
+            }
+            pixelRenderer.setHighlighted(row, col);
+            Rectangle dirty = union(pixelRenderer.render(snapshot, highlightedX, highlightedY),
+                    pixelRenderer.render(snapshot, row, col));
+            highlightedX = row;
+            highlightedY = col;
+            blit(dirty);
+        }
     }
 
     @Override
     public void draw(Graphics graphics) {
-        backBufferGraphics.setColor(Color.black);
-        backBufferGraphics.fillRect(0, 0, backBuffer.getWidth(), backBuffer.getHeight());
-        getGameField().draw(backBufferGraphics);
-
-        backBufferGraphics.setColor(Color.black);
-        backBufferGraphics.fillRect(0, backBuffer.getHeight() - Constants.INFO_FIELD_SIZE, backBuffer.getWidth(),
-                Constants.INFO_FIELD_SIZE);
-        backBufferGraphics.setColor(Color.white);
-        backBufferGraphics.setFont(new Font("TimesRoman", Font.PLAIN, 16));
-        int nrAliveCells = getGameField().getNrOfAliveCells();
+        GenerationSnapshot next = publishedSnapshot.getAndSet(null);
+        if (next != null) {
+            freeSnapshot.set(snapshot);
+            snapshot = next;
+        }
+        Rectangle dirty = pixelRenderer.render(snapshot);
+        int nrAliveCells = snapshot.getNrOfAliveCells();
+        long drawnGenerations = snapshot.getGeneration();
+
         int nrDeadCells = nrAllCells - nrAliveCells;
         StringBuilder sb = new StringBuilder();
         sb.append("Number of generations: ");
-        sb.append(generations);
+        sb.append(drawnGenerations);
         sb.append("    ");
         sb.append(nrAllCells);
         sb.append(" Cells (alive: ").append(nrAliveCells).append(", dead: ").append(nrDeadCells).append(")");
-        backBufferGraphics.drawString(sb.toString(), 5, backBuffer.getHeight() - Constants.INFO_FIELD_SIZE + 25);
+        sb.append("    ");
+        sb.append(String.format(Locale.ENGLISH, "%.1f gen/s, %.1f fps",
+                gameLoopRunning.get() ? metrics.getGenerationsPerSecond() : 0, framesPerSecond));
+        sb.append("    Zoom: ").append(viewport);
+        if (metrics.getCyclePeriod() > 0) {
+            sb.append("    Period: ").append(metrics.getCyclePeriod());
+        }
+        if (!sb.toString().equals(infoText)) {
+            infoText = sb.toString();
+            int infoY = backBuffer.getHeight() - Constants.INFO_FIELD_SIZE;
+            backBufferGraphics.setColor(Color.black);
+            backBufferGraphics.fillRect(0, infoY, backBuffer.getWidth(), Constants.INFO_FIELD_SIZE);
+            backBufferGraphics.setColor(Color.white);
+            backBufferGraphics.setFont(infoFont);
+            backBufferGraphics.drawString(infoText, 5, infoY + 25);
+            dirty = union(dirty, new Rectangle(0, infoY, backBuffer.getWidth(), Constants.INFO_FIELD_SIZE));
+        }
 
-        panelGraphics.drawImage(backBuffer, 0, 0, null);
+        blit(dirty);
     }
 
     @Override
     public void redraw(Graphics graphics) {
-        panelGraphics = this.panel.getGraphics();
-        backBufferGraphics = backBuffer.getGraphics();
-        draw(null);
-        backBufferGraphics.dispose();
-        panelGraphics.dispose();
+        synchronized (renderLock) {
+            backBufferGraphics = backBuffer.getGraphics();
+            draw(null);
+            backBufferGraphics.dispose();
+        }
+    }
+
+    private void createBackBuffer() {
+        backBuffer = new BufferedImage(fieldDimension.getWidth(),
+                fieldDimension.getHeight() + Constants.INFO_FIELD_SIZE, BufferedImage.TYPE_INT_RGB);
+        pixelRenderer = new PixelRenderer(backBuffer, nrOfFields, viewport);
+        infoText = null;
+        highlightedX = -1;
+        highlightedY = -1;
+    }
+
+    /**
+     * Shows a changed region of the back buffer on the render target
+     * 
+     * @param region The region or null if nothing changed
+     */
+    private void blit(Rectangle region) {
+        // The render target may already show a new game
+        if (region != null && !disposed) {
+            renderTarget.present(backBuffer, region);
+        }
+    }
+
+    private void viewportChanged() {
+        pixelRenderer.invalidate();
+        redraw(null);
+    }
+
+    private boolean isInside(int x, int y, int row, int col) {
+        return x >= 0 && y >= 0 && x < viewport.getWidth() && y < viewport.getHeight() && row < nrOfFields
+                && col < nrOfFields;
+    }
+
+    private static Rectangle union(Rectangle a, Rectangle b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : a.union(b);
     }
 
-    private void generateNextGenerationInternal() {
+    /**
+     * Queues a command changing the game field. The game loop applies it before the
+     * next generation, if the game loop is not running it is applied right away.
+     * 
+     * @param command The command
+     * @return true if the command has been applied, false if it is applied by the game loop
+     */
+    private boolean submit(Runnable command) {
+        commands.add(command);
+        if (gameLoopRunning.get()) {
+            return false;
+        }
+        synchronized (simulationLock) {
+            applyCommands();
+            publishSnapshot(true);
+        }
+
+        return true;
+    }
+
+    private void applyCommands() {
+        Runnable command = commands.poll();
+        if (command == null) {
+            return;
+        }
+        do {
+            command.run();
+        } while ((command = commands.poll()) != null);
+        // Commands may have changed the current generation
+        delta.reset();
+        for (GenerationSnapshot changed : snapshots) {
+            changed.markAllChanged();
+        }
+        if (historyEnabled) {
+            history.record(gameField, null, generations);
+        }
+        if (cycleDetector != null) {
+            cycleDetector.reset();
+            metrics.recordCycle(-1, 0);
+        }
+    }
+
+    /**
+     * Hashes the current generation, reports a cycle and stops the game loop if configured
+     */
+    private void detectCycle() {
+        if (cycleDetector == null || !cycleDetector.update(gameField, delta, generations)) {
+            return;
+        }
+        LOGGER.info("Cycle of period " + cycleDetector.getPeriod() + " from generation "
+                + cycleDetector.getCycleStart() + " detected at generation " + generations);
+        metrics.recordCycle(cycleDetector.getCycleStart(), cycleDetector.getPeriod());
+        if (cycleAction == CycleAction.STOP || cycleAction == CycleAction.FAST_FORWARD) {
+            run = false;
+        }
+    }
+
+    /**
+     * Restores a generation of the history
+     * 
+     * @param generation The generation, evaluated by the thread owning the simulation
+     */
+    private void restoreGeneration(LongSupplier generation) {
+        if (submit(() -> {
+            long restored = generation.getAsLong();
+            long[] bits = history.goTo(restored);
+            if (bits != null) {
+                gameField.copyFrom(bits);
+                generations = restored;
+                checkpointer.start(restored);
+            }
+        })) {
+            redraw(null);
+        }
+    }
+
+    /**
+     * Copies the game field into the free snapshot and publishes it
+     * 
+     * @param force Boolean flag whether to replace a snapshot the renderer has not taken yet
+     */
+    private void publishSnapshot(boolean force) {
+        metrics.recordPopulation(gameField.getNrOfAliveCells(), gameField.getNrOfBirths(), gameField.getNrOfDeaths());
+        GenerationSnapshot next;
+        do {
+            next = freeSnapshot.getAndSet(null);
+            if (next == null && force) {
+                next = publishedSnapshot.getAndSet(null);
+            }
+        } while (next == null && force);
+        if (next == null) {
+            // The renderer is still busy, it will show a later generation
+            return;
+        }
+        next.update(gameField, generations);
+        publishedSnapshot.set(next);
+    }
+
+    private void changeEngine() {
+        GameField newGameField = GameFieldFactory.create(engineType, nrOfFields, fieldSize, parallelism);
+        GameFieldFactory.copy(gameField, newGameField, nrOfFields);
+        gameField = newGameField;
+    }
+
+    private void step() {
+        long allocatedBytes = GameMetricsImpl.getAllocatedBytes();
+        long start = System.nanoTime();
+        gameField.generateNewGeneration();
+        long stepTime = System.nanoTime() - start;
         ++generations;
-        getGameField().generateNewGeneration();
-        panelGraphics = this.panel.getGraphics();
-        backBufferGraphics = backBuffer.getGraphics();
-        draw(null);
-        backBufferGraphics.dispose();
-        panelGraphics.dispose();
+        metrics.recordGeneration(stepTime,
+                allocatedBytes < 0 ? -1 : GameMetricsImpl.getAllocatedBytes() - allocatedBytes);
+    }
+
+    /**
+     * Renders the latest completed generation, called by the render target
+     */
+    private void renderFrame() {
+        synchronized (renderLock) {
+            long now = System.nanoTime();
+            long elapsed = now - rateStartTime;
+            boolean ratesUpdated = false;
+            if (elapsed >= Constants.RATE_INTERVAL_NANOS) {
+                framesPerSecond = rateFrames * 1e9 / elapsed;
+                rateStartTime = now;
+                rateFrames = 0;
+                ratesUpdated = true;
+            }
+            if (publishedSnapshot.get() != null || ratesUpdated) {
+                redraw(null);
+                ++rateFrames;
+                metrics.recordRender(System.nanoTime() - now);
+            }
+        }
+    }
+
+    private void resetRates() {
+        rateStartTime = System.nanoTime();
+        rateFrames = 0;
+        framesPerSecond = 0;
     }
 
-    private void sleep(long timeout) {
+    private void sleep(long timeoutNanos) {
         try {
-            Thread.sleep(timeout);
+            Thread.sleep(timeoutNanos / 1_000_000L, (int) (timeoutNanos % 1_000_000L));
         } catch (InterruptedException e) {
-            e.printStackTrace();
+            Thread.currentThread().interrupt();
+            run = false;
         }
     }
 
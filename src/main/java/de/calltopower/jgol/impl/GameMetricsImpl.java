@@ -0,0 +1,273 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.calltopower.jgol.api.GameMetricsMXBean;
+import de.calltopower.jgol.utils.Constants;
+import de.calltopower.jgol.utils.Histogram;
+import lombok.Getter;
+
+/**
+ * GameMetricsMXBean implementation.
+ * 
+ * Generations are recorded by the thread computing them, frames by the thread rendering
+ * them. Rates are updated every rate interval, if a log period is set the metrics are
+ * logged by the recording thread, no extra thread is started.
+ */
+public class GameMetricsImpl implements GameMetricsMXBean {
+
+    private static final Logger LOGGER = LogManager.getLogger(GameMetricsImpl.class);
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = createThreadMXBean();
+
+    @Getter
+    private final Histogram stepTimes;
+
+    @Getter
+    private final Histogram renderTimes;
+
+    private final long logPeriodNanos;
+    private volatile long generations;
+    private volatile double generationsPerSecond;
+    private volatile int population;
+    private volatile int births;
+    private volatile int deaths;
+    private volatile long cyclePeriod;
+    private volatile long cycleStart;
+    private volatile long allocatedBytesPerGeneration;
+    private long rateStartTime;
+    private long rateGenerations;
+    private long rateAllocatedBytes;
+    private long nextLogTime;
+
+    /**
+     * Constructor, logs the metrics every jgol.metrics.log seconds if the system property is set
+     */
+    public GameMetricsImpl() {
+        this(Long.getLong(Constants.METRICS_LOG_PERIOD_PROPERTY, 0L));
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param logPeriod The log period in seconds, 0 to not log the metrics
+     */
+    public GameMetricsImpl(long logPeriod) {
+        stepTimes = new Histogram();
+        renderTimes = new Histogram();
+        logPeriodNanos = Math.max(logPeriod, 0) * 1_000_000_000L;
+        reset();
+    }
+
+    /**
+     * Returns the number of bytes the current thread has allocated so far
+     * 
+     * @return the number of bytes, -1 if the JVM does not measure thread allocations
+     */
+    public static long getAllocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, replacing the metrics of a previous game
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(Constants.METRICS_OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            LOGGER.warn("Could not register the metrics MBean", e);
+        }
+    }
+
+    /**
+     * Records a generation
+     * 
+     * @param stepTime       The step time in nanoseconds
+     * @param allocatedBytes The bytes allocated by the step, -1 if unknown
+     */
+    public synchronized void recordGeneration(long stepTime, long allocatedBytes) {
+        stepTimes.record(stepTime);
+        ++generations;
+        ++rateGenerations;
+        rateAllocatedBytes = allocatedBytes < 0 || rateAllocatedBytes < 0 ? -1 : rateAllocatedBytes + allocatedBytes;
+
+        long now = System.nanoTime();
+        long elapsed = now - rateStartTime;
+        if (elapsed >= Constants.RATE_INTERVAL_NANOS) {
+            generationsPerSecond = rateGenerations * 1e9 / elapsed;
+            allocatedBytesPerGeneration = rateAllocatedBytes < 0 ? -1 : rateAllocatedBytes / rateGenerations;
+            rateStartTime = now;
+            rateGenerations = 0;
+            rateAllocatedBytes = 0;
+            if (logPeriodNanos > 0 && now - nextLogTime >= 0) {
+                LOGGER.info("Metrics: " + this);
+                nextLogTime = now + logPeriodNanos;
+            }
+        }
+    }
+
+    /**
+     * Records the number of alive cells and the changes of the last generation
+     * 
+     * @param population The number of alive cells
+     * @param births     The number of cells born in the last generation, -1 if unknown
+     * @param deaths     The number of cells died in the last generation, -1 if unknown
+     */
+    public void recordPopulation(int population, int births, int deaths) {
+        this.population = population;
+        this.births = births;
+        this.deaths = deaths;
+    }
+
+    /**
+     * Records the cycle the board has entered
+     * 
+     * @param start  The first generation of the cycle, -1 if none
+     * @param period The period, 0 if none
+     */
+    public void recordCycle(long start, long period) {
+        this.cycleStart = start;
+        this.cyclePeriod = period;
+    }
+
+    /**
+     * Records a rendered frame
+     * 
+     * @param renderTime The render time in nanoseconds
+     */
+    public void recordRender(long renderTime) {
+        renderTimes.record(renderTime);
+    }
+
+    @Override
+    public long getGenerations() {
+        return generations;
+    }
+
+    @Override
+    public double getGenerationsPerSecond() {
+        return generationsPerSecond;
+    }
+
+    @Override
+    public int getPopulation() {
+        return population;
+    }
+
+    @Override
+    public int getBirths() {
+        return births;
+    }
+
+    @Override
+    public int getDeaths() {
+        return deaths;
+    }
+
+    @Override
+    public long getCyclePeriod() {
+        return cyclePeriod;
+    }
+
+    @Override
+    public long getCycleStart() {
+        return cycleStart;
+    }
+
+    @Override
+    public long getAllocatedBytesPerGeneration() {
+        return allocatedBytesPerGeneration;
+    }
+
+    @Override
+    public double getStepTimeMeanMillis() {
+        return stepTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getStepTimeP50Millis() {
+        return stepTimes.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getStepTimeP99Millis() {
+        return stepTimes.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getStepTimeMaxMillis() {
+        return stepTimes.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRenderTimeMeanMillis() {
+        return renderTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRenderTimeP50Millis() {
+        return renderTimes.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRenderTimeP99Millis() {
+        return renderTimes.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRenderTimeMaxMillis() {
+        return renderTimes.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized void reset() {
+        stepTimes.reset();
+        renderTimes.reset();
+        generations = 0;
+        generationsPerSecond = 0;
+        allocatedBytesPerGeneration = 0;
+        rateStartTime = System.nanoTime();
+        rateGenerations = 0;
+        rateAllocatedBytes = 0;
+        nextLogTime = rateStartTime + logPeriodNanos;
+        cyclePeriod = 0;
+        cycleStart = -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH, "Generations: %d, %.1f gen/s, population: %d, births: %d, "
+                + "deaths: %d, period: %d, %d bytes/gen, step: [%s], render: [%s]", generations, generationsPerSecond,
+                population, births, deaths, cyclePeriod, allocatedBytesPerGeneration, stepTimes, renderTimes);
+    }
+
+    private static com.sun.management.ThreadMXBean createThreadMXBean() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            return (com.sun.management.ThreadMXBean) threadMXBean;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import de.calltopower.jgol.api.ChangedWordConsumer;
+import de.calltopower.jgol.api.Simulation;
+import lombok.Getter;
+
+/**
+ * The words of the packed bits (see Simulation.copyTo) that changed in the last generation, collected
+ * once per generation for the history and the cycle detector.
+ * 
+ * The changed words are taken from the engine, see Simulation.forEachChangedWord. For engines that do
+ * not track them the board is copied and compared with the copy of the previous generation, that copy
+ * is only allocated for these engines.
+ * 
+ * Only used by the thread owning the simulation.
+ */
+public final class GenerationDelta {
+
+    private final int nrOfWords;
+    private final ChangedWordConsumer collector;
+    private int[] indexes;
+    private long[] changes;
+    private long[] last;
+    private long[] current;
+    private boolean lastValid;
+    private boolean valid;
+
+    @Getter
+    private int size;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     */
+    public GenerationDelta(int nrOfFields) {
+        this.nrOfWords = nrOfFields * ((nrOfFields + 63) >>> 6);
+        this.collector = this::add;
+        this.indexes = new int[16];
+        this.changes = new long[16];
+    }
+
+    /**
+     * Collects the changed words of the last generation, called right after each generation
+     * 
+     * @param simulation The simulation
+     * @return true if the changed words are known, false if the previous generation is unknown
+     */
+    public boolean update(Simulation simulation) {
+        size = 0;
+        valid = simulation.forEachChangedWord(collector);
+        if (!valid) {
+            // The engine does not track the changed words
+            if (last == null) {
+                last = new long[nrOfWords];
+                current = new long[nrOfWords];
+            }
+            simulation.copyTo(current);
+            if (lastValid) {
+                for (int i = 0; i < nrOfWords; ++i) {
+                    long changed = last[i] ^ current[i];
+                    if (changed != 0) {
+                        add(i, changed);
+                    }
+                }
+                valid = true;
+            }
+            long[] tmp = last;
+            last = current;
+            current = tmp;
+            lastValid = true;
+        }
+
+        return valid;
+    }
+
+    /**
+     * Forgets the previous generation, e.g. after the board has been changed between two generations
+     */
+    public void reset() {
+        size = 0;
+        valid = false;
+        lastValid = false;
+    }
+
+    /**
+     * Returns whether the changed words of the last generation are known
+     * 
+     * @return true if the changed words are known, false else
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Passes the changed words to a consumer
+     * 
+     * @param consumer The consumer
+     * @return true if the changed words have been passed, false if they are not known
+     */
+    public boolean forEachChangedWord(ChangedWordConsumer consumer) {
+        if (!valid) {
+            return false;
+        }
+        for (int i = 0; i < size; ++i) {
+            consumer.accept(indexes[i], changes[i]);
+        }
+
+        return true;
+    }
+
+    /**
+     * Copies the changed words
+     * 
+     * @param indexes The indexes of the changed words, at least size entries
+     * @param changes The changed bits of the words, at least size entries
+     */
+    public void copyTo(int[] indexes, long[] changes) {
+        System.arraycopy(this.indexes, 0, indexes, 0, size);
+        System.arraycopy(this.changes, 0, changes, 0, size);
+    }
+
+    private void add(int index, long changed) {
+        if (size == indexes.length) {
+            int capacity = (int) Math.min((long) size * 2, nrOfWords);
+            int[] grownIndexes = new int[capacity];
+            long[] grownChanges = new long[capacity];
+            System.arraycopy(indexes, 0, grownIndexes, 0, size);
+            System.arraycopy(changes, 0, grownChanges, 0, size);
+            indexes = grownIndexes;
+            changes = grownChanges;
+        }
+        indexes[size] = index;
+        changes[size] = changed;
+        ++size;
+    }
+
+}
@@ -0,0 +1,315 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import de.calltopower.jgol.api.Simulation;
+import lombok.Getter;
+
+/**
+ * History of the generations of a simulation.
+ * 
+ * Every keyframeInterval generations a keyframe (the packed bits, see Simulation.copyTo) is stored,
+ * the generations in between are stored as the words changed since the previous generation, taken
+ * from the GenerationDelta of the step. The entries are kept in a ring, if the entries exceed the
+ * memory budget or the maximum number of generations the oldest keyframe and its deltas are dropped.
+ * A retained generation is restored from the keyframe before it and at most keyframeInterval - 1
+ * deltas.
+ * 
+ * Dropped entries are recycled with their arrays, so recording does not allocate once the history
+ * is full. The memory budget includes the entries, the array headers, the ring slots and the
+ * recycled entries.
+ * 
+ * Only used by the thread owning the simulation.
+ */
+public final class GenerationHistory {
+
+    private static final long ENTRY_OVERHEAD = 40; // Bytes, entry object and ring slot of the doubling ring
+    private static final long ARRAY_OVERHEAD = 16; // Bytes
+    private static final int CHANGE_BYTES = Integer.BYTES + Long.BYTES; // Index and changed bits of a word
+
+    private final int nrOfWords;
+    private final long maxBytes;
+    private final int maxGenerations;
+    private final int keyframeInterval;
+    private final ArrayDeque<Entry> freeEntries;
+    private long[] restored;
+    private long[] spareKeyframe;
+    private Entry[] entries;
+    private int head;
+    private int size;
+    private int nrOfKeyframes;
+    private int nrOfDeltas;
+
+    @Getter
+    private long firstGeneration;
+
+    @Getter
+    private long sizeInBytes;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields       The number of fields
+     * @param maxBytes         The memory budget for keyframes and deltas in bytes, the latest keyframe is
+     *                         always kept
+     * @param maxGenerations   The maximum number of generations, the latest keyframe is always kept
+     * @param keyframeInterval The number of generations between two keyframes
+     */
+    public GenerationHistory(int nrOfFields, long maxBytes, int maxGenerations, int keyframeInterval) {
+        this.nrOfWords = nrOfFields * ((nrOfFields + 63) >>> 6);
+        this.maxBytes = maxBytes;
+        this.maxGenerations = Math.max(maxGenerations, 1);
+        this.keyframeInterval = Math.max(keyframeInterval, 1);
+        this.freeEntries = new ArrayDeque<>();
+        this.entries = new Entry[16];
+    }
+
+    /**
+     * Returns the latest generation
+     * 
+     * @return the latest generation, firstGeneration - 1 if the history is empty
+     */
+    public long getLastGeneration() {
+        return firstGeneration + size - 1;
+    }
+
+    /**
+     * Returns whether a generation is retained
+     * 
+     * @param generation The generation
+     * @return true if the generation can be restored, false else
+     */
+    public boolean contains(long generation) {
+        return size > 0 && generation >= firstGeneration && generation <= getLastGeneration();
+    }
+
+    /**
+     * Records the current generation of a simulation. The generation following the latest generation is
+     * appended, the latest generation is replaced (e.g. after cells have been toggled), any other
+     * generation starts a new history.
+     * 
+     * @param simulation The simulation
+     * @param delta      The words changed since the latest generation, null if not known
+     * @param generation The generation of the simulation
+     */
+    public void record(Simulation simulation, GenerationDelta delta, long generation) {
+        if (size > 0 && generation == getLastGeneration() + 1) {
+            append(simulation, delta);
+        } else if (size > 0 && generation == getLastGeneration()) {
+            recycle(removeLast());
+            append(simulation, null);
+        } else {
+            clear();
+            firstGeneration = generation;
+            append(simulation, null);
+        }
+
+        while ((sizeInBytes > maxBytes || size > maxGenerations) && nrOfKeyframes > 1) {
+            do {
+                removeFirst();
+            } while (get(0).keyframe == null);
+        }
+    }
+
+    /**
+     * Restores a retained generation, the later generations are dropped
+     * 
+     * @param generation The generation
+     * @return the packed bits of the generation, only valid until the next call, null if not retained
+     */
+    public long[] goTo(long generation) {
+        if (!contains(generation)) {
+            return null;
+        }
+        if (restored == null) {
+            restored = new long[nrOfWords];
+        }
+        int index = (int) (generation - firstGeneration);
+        int keyframeIndex = index;
+        while (get(keyframeIndex).keyframe == null) {
+            --keyframeIndex;
+        }
+        System.arraycopy(get(keyframeIndex).keyframe, 0, restored, 0, nrOfWords);
+        for (int i = keyframeIndex + 1; i <= index; ++i) {
+            Entry entry = get(i);
+            for (int j = 0; j < entry.nrOfChanges; ++j) {
+                restored[entry.indexes[j]] ^= entry.changes[j];
+            }
+        }
+        while (size > index + 1) {
+            recycle(removeLast());
+        }
+        nrOfDeltas = index - keyframeIndex;
+
+        return restored;
+    }
+
+    /**
+     * Removes all generations
+     */
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            Entry entry = get(i);
+            sizeInBytes -= entry.getBytes();
+            recycle(entry);
+        }
+        Arrays.fill(entries, null);
+        head = 0;
+        size = 0;
+        nrOfKeyframes = 0;
+        nrOfDeltas = 0;
+    }
+
+    /**
+     * Appends the current generation as delta to the last generation or as keyframe
+     * 
+     * @param simulation The simulation
+     * @param delta      The words changed since the latest generation, null to store a keyframe in any case
+     */
+    private void append(Simulation simulation, GenerationDelta delta) {
+        Entry entry;
+        if (freeEntries.isEmpty()) {
+            entry = new Entry();
+        } else {
+            entry = freeEntries.pop();
+            sizeInBytes -= entry.getBytes();
+        }
+        if (delta != null && nrOfDeltas + 1 < keyframeInterval && setChanges(entry, delta)) {
+            ++nrOfDeltas;
+        } else {
+            long[] bits;
+            if (spareKeyframe == null) {
+                bits = new long[nrOfWords];
+            } else {
+                bits = spareKeyframe;
+                spareKeyframe = null;
+                sizeInBytes -= getKeyframeBytes(bits);
+            }
+            simulation.copyTo(bits);
+            entry.keyframe = bits;
+            ++nrOfKeyframes;
+            nrOfDeltas = 0;
+        }
+        if (size == entries.length) {
+            Entry[] grown = new Entry[entries.length * 2];
+            for (int i = 0; i < size; ++i) {
+                grown[i] = get(i);
+            }
+            entries = grown;
+            head = 0;
+        }
+        entries[(head + size) & (entries.length - 1)] = entry;
+        ++size;
+        sizeInBytes += entry.getBytes();
+    }
+
+    private Entry removeLast() {
+        int index = (head + size - 1) & (entries.length - 1);
+        Entry entry = entries[index];
+        entries[index] = null;
+        --size;
+        sizeInBytes -= entry.getBytes();
+        if (entry.keyframe != null) {
+            --nrOfKeyframes;
+        } else {
+            --nrOfDeltas;
+        }
+        return entry;
+    }
+
+    private void removeFirst() {
+        Entry entry = entries[head];
+        entries[head] = null;
+        head = (head + 1) & (entries.length - 1);
+        --size;
+        ++firstGeneration;
+        sizeInBytes -= entry.getBytes();
+        if (entry.keyframe != null) {
+            --nrOfKeyframes;
+        }
+        recycle(entry);
+    }
+
+    /**
+     * Keeps a removed entry and its arrays for later entries, as far as the memory budget allows
+     * 
+     * @param entry The removed entry, its bytes already subtracted
+     */
+    private void recycle(Entry entry) {
+        if (entry.keyframe != null) {
+            if (spareKeyframe == null) {
+                spareKeyframe = entry.keyframe;
+                sizeInBytes += getKeyframeBytes(spareKeyframe);
+            }
+            entry.keyframe = null;
+        }
+        if (freeEntries.size() < keyframeInterval && sizeInBytes + entry.getBytes() <= maxBytes) {
+            entry.nrOfChanges = 0;
+            freeEntries.push(entry);
+            sizeInBytes += entry.getBytes();
+        }
+    }
+
+    private Entry get(int index) {
+        return entries[(head + index) & (entries.length - 1)];
+    }
+
+    /**
+     * Stores the changed words of a delta in an entry
+     * 
+     * @param entry The entry, its arrays are reused if large enough
+     * @param delta The delta
+     * @return true if the changed words are stored, false if they are not known or a keyframe is smaller
+     */
+    private boolean setChanges(Entry entry, GenerationDelta delta) {
+        int nrOfChanges = delta.getSize();
+        if (!delta.isValid() || (long) nrOfChanges * CHANGE_BYTES >= (long) nrOfWords * Long.BYTES) {
+            return false;
+        }
+        if (entry.indexes == null || entry.indexes.length < nrOfChanges) {
+            entry.indexes = new int[nrOfChanges];
+            entry.changes = new long[nrOfChanges];
+        }
+        delta.copyTo(entry.indexes, entry.changes);
+        entry.nrOfChanges = nrOfChanges;
+
+        return true;
+    }
+
+    private static long getKeyframeBytes(long[] keyframe) {
+        return ARRAY_OVERHEAD + (long) keyframe.length * Long.BYTES;
+    }
+
+    /**
+     * A generation, either a keyframe or the words changed since the previous generation
+     */
+    private static final class Entry {
+
+        // The packed bits of a keyframe, null for a delta
+        private long[] keyframe;
+        // The indexes and changed bits of the changed words of a delta, only the first nrOfChanges are
+        // used, kept when recycled
+        private int[] indexes;
+        private long[] changes;
+        private int nrOfChanges;
+
+        long getBytes() {
+            long bytes = ENTRY_OVERHEAD;
+            if (keyframe != null) {
+                bytes += getKeyframeBytes(keyframe);
+            }
+            if (indexes != null) {
+                bytes += 2 * ARRAY_OVERHEAD + (long) indexes.length * CHANGE_BYTES;
+            }
+            return bytes;
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import de.calltopower.jgol.api.Simulation;
+import de.calltopower.jgol.enums.FieldValue;
+import lombok.Getter;
+
+/**
+ * Copy of the field values of one generation in the packed layout, with the population pyramid of the
+ * generation for rendering zoomed out.
+ * 
+ * The simulation thread marks the words changed by every generation in both snapshots, when a snapshot
+ * is updated only the blocks of its pyramid changed since its last update are counted again.
+ * Snapshots are only written by the simulation thread before they are published,
+ * a published snapshot is not changed until its reader hands it back.
+ */
+public final class GenerationSnapshot {
+
+    private final int wordsPerRow;
+    private final long[] bits;
+    private final PopulationPyramid pyramid;
+
+    @Getter
+    private final int nrOfFields;
+
+    @Getter
+    private long generation;
+
+    @Getter
+    private int nrOfAliveCells;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     */
+    GenerationSnapshot(int nrOfFields) {
+        this.nrOfFields = nrOfFields;
+        this.wordsPerRow = (nrOfFields + 63) >>> 6;
+        this.bits = new long[nrOfFields * wordsPerRow];
+        this.pyramid = new PopulationPyramid(nrOfFields);
+        this.generation = -1;
+    }
+
+    /**
+     * Returns the value of the field on row/column
+     * 
+     * @param x Row
+     * @param y Column
+     * @return The value of the field on row/column
+     */
+    public FieldValue getValue(int x, int y) {
+        if (x < 0 || x >= nrOfFields || y < 0 || y >= nrOfFields) {
+            throw new IndexOutOfBoundsException();
+        }
+        return ((bits[x * wordsPerRow + (y >>> 6)] >>> (y & 63)) & 1L) != 0 ? FieldValue.ACTIVE
+                : FieldValue.INACTIVE;
+    }
+
+    /**
+     * Returns the number of alive cells inside of a region, cells outside of the field are not counted
+     * 
+     * @param x       The first row
+     * @param y       The first column
+     * @param rows    The number of rows
+     * @param columns The number of columns
+     * @return The number of alive cells inside of the region
+     */
+    public int getNrOfAliveCells(int x, int y, int rows, int columns) {
+        return PackedGameFieldImpl.getNrOfAliveCells(bits, wordsPerRow, nrOfFields, x, y, rows, columns);
+    }
+
+    /**
+     * Returns the number of alive cells of a square block, cells outside of the field are not counted.
+     * Blocks of a size of the population pyramid that are aligned to their size are taken from it.
+     * 
+     * @param x    The first row
+     * @param y    The first column
+     * @param size The number of rows and columns
+     * @return The number of alive cells of the block
+     */
+    public int getNrOfAliveCellsOfBlock(int x, int y, int size) {
+        int level = pyramid.getLevel(size);
+        if (level < 0 || x % size != 0 || y % size != 0) {
+            return getNrOfAliveCells(x, y, size, size);
+        }
+        return pyramid.getNrOfAliveCells(level, x, y);
+    }
+
+    /**
+     * Copies the field values into packed bits, see Simulation.copyTo
+     * 
+     * @param bits The bits, at least nrOfFields * wordsPerRow words
+     */
+    public void copyTo(long[] bits) {
+        System.arraycopy(this.bits, 0, bits, 0, this.bits.length);
+    }
+
+    /**
+     * Marks the words changed by the last generation of a simulation, called right after each generation
+     * 
+     * @param simulation The simulation
+     */
+    void markChanged(Simulation simulation) {
+        if (!simulation.forEachChangedWord(pyramid)) {
+            pyramid.markAllChanged();
+        }
+    }
+
+    /**
+     * Marks all words as changed, e.g. after the field has been changed between two generations
+     */
+    void markAllChanged() {
+        pyramid.markAllChanged();
+    }
+
+    /**
+     * Copies the current generation of a simulation, all changes since the last update must have been
+     * marked
+     * 
+     * @param simulation The simulation, of the same size
+     * @param generation The generation number
+     */
+    void update(Simulation simulation, long generation) {
+        simulation.copyTo(bits);
+        pyramid.update(bits);
+        this.generation = generation;
+        this.nrOfAliveCells = simulation.getNrOfAliveCells();
+    }
+
+}
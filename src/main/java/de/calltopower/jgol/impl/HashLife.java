@@ -0,0 +1,668 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.calltopower.jgol.enums.FieldValue;
+import de.calltopower.jgol.utils.Constants;
+import de.calltopower.jgol.utils.FileData;
+import lombok.Getter;
+
+/**
+ * HashLife engine on an unbounded universe.
+ * 
+ * The universe is a quadtree of canonical (hash-consed) nodes. Every node
+ * memoises the center of itself after 2^step generations, so repeating
+ * patterns in space and time are only computed once. The root is centered on
+ * row/column 0, row/column (0, 0) of imported field values is placed there.
+ * 
+ * The node cache is bounded by maxNodes, also during a step: a step that
+ * would create more nodes is abandoned, all nodes not reachable from the root
+ * and all memoised results are dropped and the step is repeated as two steps of
+ * half the generations. Only a step of a single generation is completed beyond
+ * the bound, e.g. if the root alone needs more nodes. A step that leaves more
+ * than maxNodes nodes in the cache is followed by the same collection.
+ */
+public class HashLife {
+
+    private static final Logger LOGGER = LogManager.getLogger(HashLife.class);
+
+    private static final int INITIAL_TABLE_SIZE = 1 << 16;
+    private static final int MAX_LEVEL = 62;
+    private static final NodeLimitException NODE_LIMIT_EXCEEDED = new NodeLimitException();
+
+    private final int maxNodes;
+    private final Node dead;
+    private final Node alive;
+    private final Node[] emptyNodes;
+
+    private Node[] table;
+    private int gcEpoch;
+    private Node root;
+    // Whether join abandons the step when the cache is full
+    private boolean bounded;
+
+    @Getter
+    private int nrOfNodes;
+
+    @Getter
+    private int peakNrOfNodes;
+
+    @Getter
+    private long generation;
+
+    /**
+     * Constructor
+     */
+    public HashLife() {
+        this(Constants.HASHLIFE_MAX_NODES);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param maxNodes The maximum number of cached nodes
+     */
+    public HashLife(int maxNodes) {
+        this.maxNodes = maxNodes;
+        dead = new Node(0L, 0);
+        alive = new Node(1L, 1);
+        emptyNodes = new Node[MAX_LEVEL + 1];
+        table = new Node[INITIAL_TABLE_SIZE];
+        nrOfNodes = 0;
+        emptyNodes[0] = dead;
+        for (int level = 1; level <= MAX_LEVEL; ++level) {
+            Node e = emptyNodes[level - 1];
+            emptyNodes[level] = join(e, e, e, e);
+        }
+        clear();
+    }
+
+    /**
+     * Creates a HashLife universe from file data, the field values are placed at row/column (0, 0)
+     * 
+     * @param fileData The file data
+     * @return the HashLife universe
+     */
+    public static HashLife fromFileData(FileData fileData) {
+        HashLife hashLife = new HashLife();
+        hashLife.setValues(fileData.getValues());
+        return hashLife;
+    }
+
+    /**
+     * Returns the square nrOfFields x nrOfFields at row/column (0, 0) as file data
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     * @return the file data
+     */
+    public FileData toFileData(int nrOfFields, int fieldSize) {
+        return new FileData(Constants.JGOL_DATA_NAME, nrOfFields, fieldSize, getValues(0, 0, nrOfFields));
+    }
+
+    /**
+     * Removes all living cells and resets the generation counter
+     */
+    public void clear() {
+        root = emptyNodes[3];
+        generation = 0;
+    }
+
+    /**
+     * Returns the number of living cells
+     * 
+     * @return the number of living cells
+     */
+    public long getPopulation() {
+        return root.population;
+    }
+
+    /**
+     * Returns the number of living cells inside a square
+     * 
+     * @param row  The first row
+     * @param col  The first column
+     * @param size The size of the square
+     * @return the number of living cells inside the square
+     */
+    public long getPopulation(long row, long col, int size) {
+        return getPopulation(row, col, size, size);
+    }
+
+    /**
+     * Returns the number of living cells inside a rectangle
+     * 
+     * @param row  The first row
+     * @param col  The first column
+     * @param rows The number of rows
+     * @param cols The number of columns
+     * @return the number of living cells inside the rectangle
+     */
+    public long getPopulation(long row, long col, int rows, int cols) {
+        long half = 1L << (root.level - 1);
+        return population(root, -half, -half, row, col, rows, cols);
+    }
+
+    /**
+     * Returns whether the cell on row/column is alive
+     * 
+     * @param row Row
+     * @param col Column
+     * @return Boolean flag whether the cell is alive
+     */
+    public boolean isAlive(long row, long col) {
+        long half = 1L << (root.level - 1);
+        if (row < -half || row >= half || col < -half || col >= half) {
+            return false;
+        }
+        Node node = root;
+        long r = row + half;
+        long c = col + half;
+        while (node.level > 0) {
+            if (node.population == 0) {
+                return false;
+            }
+            long h = 1L << (node.level - 1);
+            boolean south = r >= h;
+            boolean east = c >= h;
+            node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+            r -= south ? h : 0;
+            c -= east ? h : 0;
+        }
+
+        return node == alive;
+    }
+
+    /**
+     * Sets the cell on row/column
+     * 
+     * @param row   Row
+     * @param col   Column
+     * @param state Boolean flag whether the cell is alive
+     */
+    public void set(long row, long col, boolean state) {
+        while (!contains(row, col)) {
+            root = expand(root);
+        }
+        long half = 1L << (root.level - 1);
+        root = set(root, row + half, col + half, state);
+    }
+
+    /**
+     * Replaces all cells with the field values, placed at row/column (0, 0)
+     * 
+     * @param values The field values
+     */
+    public void setValues(FieldValue[][] values) {
+        int size = Math.max(values.length, values.length > 0 ? values[0].length : 0);
+        int level = 3;
+        while ((1L << (level - 1)) < size) {
+            ++level;
+        }
+        Node e = emptyNodes[level - 1];
+        root = join(e, e, e, build(values, level - 1, 0, 0));
+        generation = 0;
+    }
+
+    /**
+     * Returns the field values of a square
+     * 
+     * @param row  The first row
+     * @param col  The first column
+     * @param size The size of the square
+     * @return the field values
+     */
+    public FieldValue[][] getValues(long row, long col, int size) {
+        FieldValue[][] values = new FieldValue[size][size];
+        for (FieldValue[] valueRow : values) {
+            Arrays.fill(valueRow, FieldValue.INACTIVE);
+        }
+        long half = 1L << (root.level - 1);
+        fill(root, -half, -half, values, row, col);
+        return values;
+    }
+
+    /**
+     * Copies the living cells of the square size x size at row/column (0, 0) into packed bits,
+     * every row occupies (size + 63) / 64 words
+     * 
+     * @param bits The bits, at least size * wordsPerRow words
+     * @param size The size of the square
+     */
+    public void copyTo(long[] bits, int size) {
+        int wordsPerRow = (size + 63) >>> 6;
+        Arrays.fill(bits, 0, size * wordsPerRow, 0L);
+        long half = 1L << (root.level - 1);
+        copyTo(root, -half, -half, bits, size, wordsPerRow);
+    }
+
+    /**
+     * Replaces all cells with the square size x size of packed bits, placed at row/column (0, 0)
+     * 
+     * @param bits The bits, every row occupies (size + 63) / 64 words
+     * @param size The size of the square
+     */
+    public void copyFrom(long[] bits, int size) {
+        int level = 3;
+        while ((1L << (level - 1)) < size) {
+            ++level;
+        }
+        Node e = emptyNodes[level - 1];
+        root = join(e, e, e, build(bits, size, (size + 63) >>> 6, level - 1, 0, 0));
+        generation = 0;
+    }
+
+    /**
+     * Advances the universe by 2^log2Generations generations in one step
+     * 
+     * @param log2Generations The binary logarithm of the number of generations
+     */
+    public void advance(int log2Generations) {
+        // The result of a level k node is its center half after up to 2^(k-2) generations.
+        // Keeping the pattern inside of the center quarter and stepping at most 2^(k-3)
+        // generations guarantees that nothing leaves the result.
+        while (root.level < log2Generations + 3 || !isInCenterQuarter(root)) {
+            root = expand(root);
+        }
+        Node result;
+        bounded = log2Generations > 0;
+        try {
+            result = step(root, log2Generations);
+        } catch (NodeLimitException e) {
+            result = null;
+        } finally {
+            bounded = false;
+        }
+        if (result == null) {
+            // Half the generations need fewer nodes, the memoised results are lost anyway
+            collectGarbage();
+            advance(log2Generations - 1);
+            advance(log2Generations - 1);
+            return;
+        }
+        root = result;
+        generation += 1L << log2Generations;
+        if (nrOfNodes > maxNodes) {
+            collectGarbage();
+        }
+    }
+
+    /**
+     * Advances the universe by a number of generations
+     * 
+     * @param generations The number of generations
+     */
+    public void advanceBy(long generations) {
+        for (int bit = 0; bit < Long.SIZE - 1; ++bit) {
+            if ((generations & (1L << bit)) != 0) {
+                advance(bit);
+            }
+        }
+    }
+
+    private boolean contains(long row, long col) {
+        long half = 1L << (root.level - 1);
+        return row >= -half && row < half && col >= -half && col < half;
+    }
+
+    private boolean isInCenterQuarter(Node node) {
+        return node.population == node.nw.se.se.population + node.ne.sw.sw.population
+                + node.sw.ne.ne.population + node.se.nw.nw.population;
+    }
+
+    private Node expand(Node node) {
+        if (node.level >= MAX_LEVEL) {
+            throw new IllegalStateException("HashLife universe exceeds the maximum size");
+        }
+        Node e = emptyNodes[node.level - 1];
+        return join(join(e, e, e, node.nw), join(e, e, node.ne, e), join(e, node.sw, e, e), join(node.se, e, e, e));
+    }
+
+    private Node set(Node node, long row, long col, boolean state) {
+        if (node.level == 0) {
+            return state ? alive : dead;
+        }
+        long h = 1L << (node.level - 1);
+        if (row < h) {
+            if (col < h) {
+                return join(set(node.nw, row, col, state), node.ne, node.sw, node.se);
+            }
+            return join(node.nw, set(node.ne, row, col - h, state), node.sw, node.se);
+        }
+        if (col < h) {
+            return join(node.nw, node.ne, set(node.sw, row - h, col, state), node.se);
+        }
+        return join(node.nw, node.ne, node.sw, set(node.se, row - h, col - h, state));
+    }
+
+    private Node build(FieldValue[][] values, int level, int row, int col) {
+        if (row >= values.length || col >= values[0].length) {
+            return emptyNodes[level];
+        }
+        if (level == 0) {
+            return values[row][col] == FieldValue.ACTIVE ? alive : dead;
+        }
+        int h = 1 << (level - 1);
+        return join(build(values, level - 1, row, col), build(values, level - 1, row, col + h),
+                build(values, level - 1, row + h, col), build(values, level - 1, row + h, col + h));
+    }
+
+    private Node build(long[] bits, int size, int wordsPerRow, int level, int row, int col) {
+        if (row >= size || col >= size) {
+            return emptyNodes[level];
+        }
+        if (level == 0) {
+            return ((bits[row * wordsPerRow + (col >>> 6)] >>> (col & 63)) & 1L) != 0 ? alive : dead;
+        }
+        if (level == 6 && isEmpty(bits, size, wordsPerRow, row, col >>> 6)) {
+            // A 64x64 node covers one word of 64 rows
+            return emptyNodes[level];
+        }
+        int h = 1 << (level - 1);
+        return join(build(bits, size, wordsPerRow, level - 1, row, col),
+                build(bits, size, wordsPerRow, level - 1, row, col + h),
+                build(bits, size, wordsPerRow, level - 1, row + h, col),
+                build(bits, size, wordsPerRow, level - 1, row + h, col + h));
+    }
+
+    private static boolean isEmpty(long[] bits, int size, int wordsPerRow, int row, int word) {
+        int rowEnd = Math.min(row + 64, size);
+        for (int i = row; i < rowEnd; ++i) {
+            if (bits[i * wordsPerRow + word] != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void fill(Node node, long nodeRow, long nodeCol, FieldValue[][] values, long row, long col) {
+        long size = 1L << node.level;
+        if (node.population == 0 || nodeRow >= row + values.length || nodeCol >= col + values.length
+                || nodeRow + size <= row || nodeCol + size <= col) {
+            return;
+        }
+        if (node.level == 0) {
+            values[(int) (nodeRow - row)][(int) (nodeCol - col)] = FieldValue.ACTIVE;
+            return;
+        }
+        long h = size >>> 1;
+        fill(node.nw, nodeRow, nodeCol, values, row, col);
+        fill(node.ne, nodeRow, nodeCol + h, values, row, col);
+        fill(node.sw, nodeRow + h, nodeCol, values, row, col);
+        fill(node.se, nodeRow + h, nodeCol + h, values, row, col);
+    }
+
+    private void copyTo(Node node, long nodeRow, long nodeCol, long[] bits, int size, int wordsPerRow) {
+        long nodeSize = 1L << node.level;
+        if (node.population == 0 || nodeRow >= size || nodeCol >= size || nodeRow + nodeSize <= 0
+                || nodeCol + nodeSize <= 0) {
+            return;
+        }
+        if (node.level == 0) {
+            bits[(int) nodeRow * wordsPerRow + (int) (nodeCol >>> 6)] |= 1L << (nodeCol & 63);
+            return;
+        }
+        long h = nodeSize >>> 1;
+        copyTo(node.nw, nodeRow, nodeCol, bits, size, wordsPerRow);
+        copyTo(node.ne, nodeRow, nodeCol + h, bits, size, wordsPerRow);
+        copyTo(node.sw, nodeRow + h, nodeCol, bits, size, wordsPerRow);
+        copyTo(node.se, nodeRow + h, nodeCol + h, bits, size, wordsPerRow);
+    }
+
+    private long population(Node node, long nodeRow, long nodeCol, long row, long col, int rows, int cols) {
+        long nodeSize = 1L << node.level;
+        if (node.population == 0 || nodeRow >= row + rows || nodeCol >= col + cols || nodeRow + nodeSize <= row
+                || nodeCol + nodeSize <= col) {
+            return 0;
+        }
+        if (nodeRow >= row && nodeCol >= col && nodeRow + nodeSize <= row + rows && nodeCol + nodeSize <= col + cols) {
+            return node.population;
+        }
+        long h = nodeSize >>> 1;
+        return population(node.nw, nodeRow, nodeCol, row, col, rows, cols)
+                + population(node.ne, nodeRow, nodeCol + h, row, col, rows, cols)
+                + population(node.sw, nodeRow + h, nodeCol, row, col, rows, cols)
+                + population(node.se, nodeRow + h, nodeCol + h, row, col, rows, cols);
+    }
+
+    /**
+     * Returns the center (level - 1) of a node after 2^log2Generations generations,
+     * log2Generations must not exceed level - 2
+     */
+    private Node step(Node node, int log2Generations) {
+        if (node.population == 0) {
+            return emptyNodes[node.level - 1];
+        }
+        if (node.result != null && node.resultStep == log2Generations) {
+            return node.result;
+        }
+
+        Node result;
+        if (node.level == 2) {
+            result = stepLevel2(node);
+        } else {
+            Node n00 = node.nw;
+            Node n01 = horizontalCenter(node.nw, node.ne);
+            Node n02 = node.ne;
+            Node n10 = verticalCenter(node.nw, node.sw);
+            Node n11 = center(node);
+            Node n12 = verticalCenter(node.ne, node.se);
+            Node n20 = node.sw;
+            Node n21 = horizontalCenter(node.sw, node.se);
+            Node n22 = node.se;
+
+            if (log2Generations == node.level - 2) {
+                // Two rounds of 2^(level - 3) generations
+                int half = log2Generations - 1;
+                Node r00 = step(n00, half);
+                Node r01 = step(n01, half);
+                Node r02 = step(n02, half);
+                Node r10 = step(n10, half);
+                Node r11 = step(n11, half);
+                Node r12 = step(n12, half);
+                Node r20 = step(n20, half);
+                Node r21 = step(n21, half);
+                Node r22 = step(n22, half);
+                result = join(step(join(r00, r01, r10, r11), half), step(join(r01, r02, r11, r12), half),
+                        step(join(r10, r11, r20, r21), half), step(join(r11, r12, r21, r22), half));
+            } else {
+                // One round of 2^log2Generations generations, then only the centers
+                Node r00 = step(n00, log2Generations);
+                Node r01 = step(n01, log2Generations);
+                Node r02 = step(n02, log2Generations);
+                Node r10 = step(n10, log2Generations);
+                Node r11 = step(n11, log2Generations);
+                Node r12 = step(n12, log2Generations);
+                Node r20 = step(n20, log2Generations);
+                Node r21 = step(n21, log2Generations);
+                Node r22 = step(n22, log2Generations);
+                result = join(center(join(r00, r01, r10, r11)), center(join(r01, r02, r11, r12)),
+                        center(join(r10, r11, r20, r21)), center(join(r11, r12, r21, r22)));
+            }
+        }
+
+        node.result = result;
+        node.resultStep = log2Generations;
+        return result;
+    }
+
+    private Node stepLevel2(Node node) {
+        // 4x4 cells, bit (row * 4 + col)
+        int bits = 0;
+        Node[] quadrants = { node.nw, node.ne, node.sw, node.se };
+        for (int q = 0; q < 4; ++q) {
+            Node quadrant = quadrants[q];
+            int rowOffset = (q >> 1) * 2;
+            int colOffset = (q & 1) * 2;
+            bits |= (quadrant.nw == alive ? 1 : 0) << (rowOffset * 4 + colOffset);
+            bits |= (quadrant.ne == alive ? 1 : 0) << (rowOffset * 4 + colOffset + 1);
+            bits |= (quadrant.sw == alive ? 1 : 0) << ((rowOffset + 1) * 4 + colOffset);
+            bits |= (quadrant.se == alive ? 1 : 0) << ((rowOffset + 1) * 4 + colOffset + 1);
+        }
+        return join(nextCell(bits, 1, 1), nextCell(bits, 1, 2), nextCell(bits, 2, 1), nextCell(bits, 2, 2));
+    }
+
+    private Node nextCell(int bits, int row, int col) {
+        int nrOfNeighbors = 0;
+        for (int r = row - 1; r <= row + 1; ++r) {
+            for (int c = col - 1; c <= col + 1; ++c) {
+                if ((r != row || c != col) && ((bits >>> (r * 4 + c)) & 1) != 0) {
+                    ++nrOfNeighbors;
+                }
+            }
+        }
+        boolean isAlive = ((bits >>> (row * 4 + col)) & 1) != 0;
+        // Each cell with two or three neighbors survives.
+        // Each cell with three neighbors becomes populated.
+        return nrOfNeighbors == 3 || (isAlive && nrOfNeighbors == 2) ? alive : dead;
+    }
+
+    private Node center(Node node) {
+        return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    private Node horizontalCenter(Node west, Node east) {
+        return join(west.ne, east.nw, west.se, east.sw);
+    }
+
+    private Node verticalCenter(Node north, Node south) {
+        return join(north.sw, north.se, south.nw, south.ne);
+    }
+
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+        int hash = hash(nw, ne, sw, se);
+        int index = hash & (table.length - 1);
+        for (Node node = table[index]; node != null; node = node.next) {
+            if (node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) {
+                return node;
+            }
+        }
+        if (bounded && nrOfNodes >= maxNodes) {
+            throw NODE_LIMIT_EXCEEDED;
+        }
+        Node node = new Node(nw, ne, sw, se, hash);
+        node.next = table[index];
+        table[index] = node;
+        if (++nrOfNodes > table.length - (table.length >>> 2)) {
+            resize(table.length << 1);
+        }
+        peakNrOfNodes = Math.max(peakNrOfNodes, nrOfNodes);
+        return node;
+    }
+
+    private static int hash(Node nw, Node ne, Node sw, Node se) {
+        int h = nw.hash * 0x9E3779B1 + ne.hash * 0x85EBCA77 + sw.hash * 0xC2B2AE3D + se.hash * 0x27D4EB2F
+                + nw.level;
+        return h ^ (h >>> 15);
+    }
+
+    private void resize(int size) {
+        Node[] oldTable = table;
+        table = new Node[size];
+        for (Node bucket : oldTable) {
+            Node node = bucket;
+            while (node != null) {
+                Node next = node.next;
+                int index = node.hash & (table.length - 1);
+                node.next = table[index];
+                table[index] = node;
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Drops all nodes not reachable from the root and all memoised results
+     */
+    private void collectGarbage() {
+        int before = nrOfNodes;
+        ++gcEpoch;
+        table = new Node[Math.max(INITIAL_TABLE_SIZE, Integer.highestOneBit(maxNodes) << 1)];
+        nrOfNodes = 0;
+        for (int level = 1; level <= MAX_LEVEL; ++level) {
+            keep(emptyNodes[level]);
+        }
+        keep(root);
+        LOGGER.info("HashLife node cache collected: " + before + " -> " + nrOfNodes + " nodes");
+    }
+
+    private void keep(Node node) {
+        if (node.level == 0 || node.epoch == gcEpoch) {
+            return;
+        }
+        node.epoch = gcEpoch;
+        node.result = null;
+        keep(node.nw);
+        keep(node.ne);
+        keep(node.sw);
+        keep(node.se);
+        int index = node.hash & (table.length - 1);
+        node.next = table[index];
+        table[index] = node;
+        if (++nrOfNodes > table.length - (table.length >>> 2)) {
+            resize(table.length << 1);
+        }
+    }
+
+    /**
+     * Thrown by join to abandon a step when the node cache is full
+     */
+    private static final class NodeLimitException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private NodeLimitException() {
+            super("HashLife node cache is full", null, false, false);
+        }
+    }
+
+    /**
+     * A canonical quadtree node, level 0 nodes are single cells
+     */
+    private static final class Node {
+
+        private final int level;
+        private final Node nw;
+        private final Node ne;
+        private final Node sw;
+        private final Node se;
+        private final long population;
+        private final int hash;
+
+        private Node next;
+        private Node result;
+        private int resultStep;
+        private int epoch;
+
+        private Node(long population, int hash) {
+            this.level = 0;
+            this.nw = null;
+            this.ne = null;
+            this.sw = null;
+            this.se = null;
+            this.population = population;
+            this.hash = hash;
+        }
+
+        private Node(Node nw, Node ne, Node sw, Node se, int hash) {
+            this.level = nw.level + 1;
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            this.hash = hash;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.util.Random;
+
+import de.calltopower.jgol.enums.FieldValue;
+import lombok.Getter;
+
+/**
+ * GameField implementation showing the square nrOfFields x nrOfFields at
+ * row/column (0, 0) of an unbounded HashLife universe.
+ * 
+ * Cells leaving the field keep living outside of it. Births and deaths are not
+ * counted, generations are computed from memoized results.
+ */
+public class HashLifeGameFieldImpl extends AbstractGameField {
+
+    @Getter
+    private HashLife hashLife;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    public HashLifeGameFieldImpl(int nrOfFields, int fieldSize) {
+        super(nrOfFields, fieldSize);
+        hashLife = new HashLife();
+    }
+
+    @Override
+    public FieldValue getValue(int x, int y) {
+        if (!isValidCoordinate(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return hashLife.isAlive(x, y) ? FieldValue.ACTIVE : FieldValue.INACTIVE;
+    }
+
+    @Override
+    public boolean set(int x, int y, FieldValue value) {
+        if (!isValidCoordinate(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        hashLife.set(x, y, value == FieldValue.ACTIVE);
+        return true;
+    }
+
+    @Override
+    public boolean setValues(FieldValue[][] values) {
+        if (!(values.length == nrOfFields) || !(values[0].length == nrOfFields)) {
+            return false;
+        }
+        hashLife.setValues(values);
+        return true;
+    }
+
+    @Override
+    public void generateNewGeneration() {
+        hashLife.advance(0);
+    }
+
+    @Override
+    public void generateNewGenerations(long generations) {
+        hashLife.advanceBy(generations);
+    }
+
+    @Override
+    public int getNrOfAliveCells() {
+        return (int) hashLife.getPopulation(0, 0, nrOfFields);
+    }
+
+    @Override
+    public int getNrOfBirths() {
+        return -1;
+    }
+
+    @Override
+    public int getNrOfDeaths() {
+        return -1;
+    }
+
+    @Override
+    public int getNrOfAliveCells(int x, int y, int rows, int columns) {
+        int rowStart = Math.max(x, 0);
+        int colStart = Math.max(y, 0);
+        int rowEnd = Math.min(x + rows, nrOfFields);
+        int colEnd = Math.min(y + columns, nrOfFields);
+        if (rowStart >= rowEnd || colStart >= colEnd) {
+            return 0;
+        }
+        return (int) hashLife.getPopulation(rowStart, colStart, rowEnd - rowStart, colEnd - colStart);
+    }
+
+    @Override
+    public void copyTo(long[] bits) {
+        hashLife.copyTo(bits, nrOfFields);
+    }
+
+    @Override
+    public void copyFrom(long[] bits) {
+        hashLife.copyFrom(bits, nrOfFields);
+    }
+
+    @Override
+    protected void seed(Random random) {
+        hashLife.setValues(randomValues(random));
+    }
+
+}
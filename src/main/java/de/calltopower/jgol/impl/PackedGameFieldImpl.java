@@ -0,0 +1,329 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import de.calltopower.jgol.api.ChangedWordConsumer;
+import de.calltopower.jgol.enums.FieldValue;
+
+/**
+ * GameField implementation storing one bit per cell in packed long words.
+ * 
+ * Every row occupies (nrOfFields + 63) / 64 words, bit (y % 64) of word (y / 64)
+ * holds the cell in column y. Field instances are only created as views on demand.
+ * 
+ * Births and deaths are counted with Long.bitCount right after a row is computed,
+ * the number of alive cells is kept up to date instead of being counted. The rows
+ * that changed are marked, so the changed words are found without a pass over
+ * the whole field.
+ */
+public class PackedGameFieldImpl extends AbstractGameField {
+
+    protected final int wordsPerRow;
+    protected long[] cells;
+    protected long[] cellsBackbuffer;
+    protected final boolean[] rowChanged;
+
+    private int nrOfAliveCells;
+    private int nrOfBirths;
+    private int nrOfDeaths;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    public PackedGameFieldImpl(int nrOfFields, int fieldSize) {
+        super(nrOfFields, fieldSize);
+
+        wordsPerRow = (nrOfFields + 63) >>> 6;
+        cells = new long[nrOfFields * wordsPerRow];
+        cellsBackbuffer = new long[nrOfFields * wordsPerRow];
+        rowChanged = new boolean[nrOfFields];
+    }
+
+    @Override
+    public FieldValue getValue(int x, int y) {
+        if (!isValidCoordinate(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return isAlive(cells, x, y) ? FieldValue.ACTIVE : FieldValue.INACTIVE;
+    }
+
+    @Override
+    public boolean set(int x, int y, FieldValue value) {
+        if (!isValidCoordinate(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        int index = index(x, y);
+        long bit = 1L << (y & 63);
+        boolean alive = (cells[index] & bit) != 0;
+        if (value == FieldValue.ACTIVE && !alive) {
+            cells[index] |= bit;
+            ++nrOfAliveCells;
+        } else if (value != FieldValue.ACTIVE && alive) {
+            cells[index] &= ~bit;
+            --nrOfAliveCells;
+        }
+        return true;
+    }
+
+    @Override
+    public void generateNewGeneration() {
+        long changes = generateRowsAndCountChanges(cells, cellsBackbuffer, 0, nrOfFields);
+        swapBuffers();
+        applyChanges(changes);
+    }
+
+    @Override
+    public int getNrOfAliveCells() {
+        return nrOfAliveCells;
+    }
+
+    @Override
+    public int getNrOfBirths() {
+        return nrOfBirths;
+    }
+
+    @Override
+    public int getNrOfDeaths() {
+        return nrOfDeaths;
+    }
+
+    @Override
+    public boolean forEachChangedWord(ChangedWordConsumer consumer) {
+        // The back buffer holds the previous generation
+        for (int row = 0; row < nrOfFields; ++row) {
+            if (rowChanged[row]) {
+                forEachChangedWord(row * wordsPerRow, (row + 1) * wordsPerRow, 1, consumer);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int getNrOfAliveCells(int x, int y, int rows, int columns) {
+        return getNrOfAliveCells(cells, wordsPerRow, nrOfFields, x, y, rows, columns);
+    }
+
+    @Override
+    public void copyTo(long[] bits) {
+        System.arraycopy(cells, 0, bits, 0, cells.length);
+    }
+
+    @Override
+    public void copyFrom(long[] bits) {
+        System.arraycopy(bits, 0, cells, 0, cells.length);
+        long lastWordMask = (nrOfFields & 63) == 0 ? -1L : (1L << (nrOfFields & 63)) - 1;
+        nrOfAliveCells = 0;
+        for (int i = 0; i < nrOfFields; ++i) {
+            cells[i * wordsPerRow + wordsPerRow - 1] &= lastWordMask;
+        }
+        for (long word : cells) {
+            nrOfAliveCells += Long.bitCount(word);
+        }
+    }
+
+    /**
+     * Returns the number of alive cells of packed bits inside of a region, cells outside of the field are not counted
+     * 
+     * @param cells       The packed bits
+     * @param wordsPerRow The number of words per row
+     * @param nrOfFields  The number of fields
+     * @param x           The first row
+     * @param y           The first column
+     * @param rows        The number of rows
+     * @param columns     The number of columns
+     * @return The number of alive cells inside of the region
+     */
+    static int getNrOfAliveCells(long[] cells, int wordsPerRow, int nrOfFields, int x, int y, int rows,
+            int columns) {
+        int rowEnd = Math.min(x + rows, nrOfFields);
+        int colStart = Math.max(y, 0);
+        int colEnd = Math.min(y + columns, nrOfFields);
+        if (colStart >= colEnd) {
+            return 0;
+        }
+        int firstWord = colStart >>> 6;
+        int lastWord = (colEnd - 1) >>> 6;
+        long firstMask = -1L << (colStart & 63);
+        long lastMask = -1L >>> (63 - ((colEnd - 1) & 63));
+        int count = 0;
+        for (int row = Math.max(x, 0); row < rowEnd; ++row) {
+            int offset = row * wordsPerRow;
+            if (firstWord == lastWord) {
+                count += Long.bitCount(cells[offset + firstWord] & firstMask & lastMask);
+                continue;
+            }
+            count += Long.bitCount(cells[offset + firstWord] & firstMask);
+            for (int word = firstWord + 1; word < lastWord; ++word) {
+                count += Long.bitCount(cells[offset + word]);
+            }
+            count += Long.bitCount(cells[offset + lastWord] & lastMask);
+        }
+
+        return count;
+    }
+
+    /**
+     * Computes the next generation of the rows [fromRow, toRow) of src into dst
+     * 
+     * @param src     The current generation
+     * @param dst     The next generation
+     * @param fromRow The first row (inclusive)
+     * @param toRow   The last row (exclusive)
+     */
+    protected void generateRows(long[] src, long[] dst, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; ++row) {
+            int offset = row * wordsPerRow;
+            for (int word = 0; word < wordsPerRow; ++word) {
+                dst[offset + word] = nextWord(src, row, word);
+            }
+        }
+    }
+
+    /**
+     * Computes the next generation of the rows [fromRow, toRow) of src into dst, counts
+     * the births and deaths of every row while it is still in the cache and marks the
+     * changed rows
+     * 
+     * @param src     The current generation
+     * @param dst     The next generation
+     * @param fromRow The first row (inclusive)
+     * @param toRow   The last row (exclusive)
+     * @return the births and deaths, see countChanges
+     */
+    protected long generateRowsAndCountChanges(long[] src, long[] dst, int fromRow, int toRow) {
+        long changes = 0L;
+        for (int row = fromRow; row < toRow; ++row) {
+            generateRows(src, dst, row, row + 1);
+            long rowChanges = countChanges(src, dst, row, row + 1);
+            rowChanged[row] = rowChanges != 0;
+            changes += rowChanges;
+        }
+
+        return changes;
+    }
+
+    /**
+     * Counts the births and deaths between two generations of the rows [fromRow, toRow)
+     * 
+     * @param src     The current generation
+     * @param dst     The next generation
+     * @param fromRow The first row (inclusive)
+     * @param toRow   The last row (exclusive)
+     * @return the births in the upper and the deaths in the lower 32 bits, the sum of
+     *         two such values holds the sums of the births and of the deaths
+     */
+    protected long countChanges(long[] src, long[] dst, int fromRow, int toRow) {
+        int births = 0;
+        int deaths = 0;
+        for (int i = fromRow * wordsPerRow; i < toRow * wordsPerRow; ++i) {
+            births += Long.bitCount(dst[i] & ~src[i]);
+            deaths += Long.bitCount(src[i] & ~dst[i]);
+        }
+
+        return ((long) births << 32) | deaths;
+    }
+
+    /**
+     * Passes the changed words in [from, to) to a consumer, after the buffers have been swapped
+     * 
+     * @param from     The index of the first word (inclusive)
+     * @param to       The index of the last word (exclusive)
+     * @param step     The distance between two words
+     * @param consumer The consumer
+     */
+    protected void forEachChangedWord(int from, int to, int step, ChangedWordConsumer consumer) {
+        for (int i = from; i < to; i += step) {
+            long changed = cells[i] ^ cellsBackbuffer[i];
+            if (changed != 0) {
+                consumer.accept(i, changed);
+            }
+        }
+    }
+
+    /**
+     * Updates the number of alive cells, births and deaths after a generation
+     * 
+     * @param changes The births and deaths, see countChanges
+     */
+    protected void applyChanges(long changes) {
+        nrOfBirths = (int) (changes >>> 32);
+        nrOfDeaths = (int) changes;
+        nrOfAliveCells += nrOfBirths - nrOfDeaths;
+    }
+
+    /**
+     * Computes the next generation of the 64 cells stored in one word
+     * 
+     * @param src  The current generation
+     * @param row  The row
+     * @param word The word index inside the row
+     * @return the word of the next generation
+     */
+    protected long nextWord(long[] src, int row, int word) {
+        long result = 0L;
+        int colStart = word << 6;
+        int colEnd = Math.min(colStart + 64, nrOfFields);
+        int rowStart = Math.max(row - 1, 0);
+        int rowEnd = Math.min(row + 1, nrOfFields - 1);
+        for (int col = colStart; col < colEnd; ++col) {
+            int first = Math.max(col - 1, 0);
+            int last = Math.min(col + 1, nrOfFields - 1);
+            int nrOfNeighbors = 0;
+            for (int r = rowStart; r <= rowEnd; ++r) {
+                for (int c = first; c <= last; ++c) {
+                    if ((r != row || c != col) && isAlive(src, r, c)) {
+                        ++nrOfNeighbors;
+                    }
+                }
+            }
+            // Each cell with two or three neighbors survives.
+            // Each cell with three neighbors becomes populated.
+            if (nrOfNeighbors == 3 || (nrOfNeighbors == 2 && isAlive(src, row, col))) {
+                result |= 1L << (col & 63);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Swaps the current generation with the back buffer
+     */
+    protected void swapBuffers() {
+        long[] tmp = cells;
+        cells = cellsBackbuffer;
+        cellsBackbuffer = tmp;
+    }
+
+    /**
+     * Returns the index of the word holding the cell on row/column
+     * 
+     * @param x Row
+     * @param y Column
+     * @return the index of the word
+     */
+    protected int index(int x, int y) {
+        return x * wordsPerRow + (y >>> 6);
+    }
+
+    /**
+     * Returns whether the cell on row/column is alive
+     * 
+     * @param src The cells
+     * @param x   Row
+     * @param y   Column
+     * @return Boolean flag whether the cell is alive
+     */
+    protected boolean isAlive(long[] src, int x, int y) {
+        return ((src[index(x, y)] >>> (y & 63)) & 1L) != 0;
+    }
+
+}
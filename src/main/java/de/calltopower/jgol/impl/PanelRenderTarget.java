@@ -0,0 +1,68 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+import de.calltopower.jgol.api.RenderTarget;
+import de.calltopower.jgol.utils.Constants;
+
+/**
+ * RenderTarget blitting changed regions to a Swing panel, frames are driven by a Swing timer on the EDT
+ */
+public class PanelRenderTarget implements RenderTarget {
+
+    private JPanel panel;
+    private Timer frameTimer;
+
+    /**
+     * Constructor
+     * 
+     * @param panel The swing panel
+     */
+    public PanelRenderTarget(JPanel panel) {
+        this.panel = panel;
+    }
+
+    @Override
+    public synchronized void start(Runnable frame) {
+        if (frameTimer == null) {
+            frameTimer = new Timer(1000 / Constants.FRAME_RATE, e -> frame.run());
+            frameTimer.setCoalesce(true);
+        }
+        frameTimer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (frameTimer != null) {
+            frameTimer.stop();
+        }
+    }
+
+    @Override
+    public void present(BufferedImage image, Rectangle region) {
+        Graphics graphics = panel.getGraphics();
+        if (graphics == null) {
+            // Not displayable
+            return;
+        }
+        if (region == null) {
+            graphics.drawImage(image, 0, 0, null);
+        } else {
+            graphics.drawImage(image, region.x, region.y, region.x + region.width, region.y + region.height,
+                    region.x, region.y, region.x + region.width, region.y + region.height, null);
+        }
+        graphics.dispose();
+    }
+
+}
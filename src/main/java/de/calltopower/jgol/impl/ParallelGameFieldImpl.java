@@ -0,0 +1,94 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import de.calltopower.jgol.utils.Constants;
+import lombok.Getter;
+
+/**
+ * SWAR GameField implementation computing row stripes in parallel.
+ * 
+ * Every stripe reads the current generation and writes its own rows of the
+ * back buffer only, so the result is identical to the sequential step.
+ * 
+ * All instances with the same parallelism level share one pool, so replacing
+ * a game field does not leave worker threads behind.
+ */
+public class ParallelGameFieldImpl extends SwarGameFieldImpl {
+
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final ForkJoinPool pool;
+    private int stripeHeight;
+
+    @Getter
+    private int parallelism;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields  The number of fields
+     * @param fieldSize   The field size
+     * @param parallelism The parallelism level
+     */
+    public ParallelGameFieldImpl(int nrOfFields, int fieldSize, int parallelism) {
+        super(nrOfFields, fieldSize);
+        this.parallelism = Math.max(1, parallelism);
+        pool = POOLS.computeIfAbsent(this.parallelism, ForkJoinPool::new);
+        int nrOfStripes = this.parallelism * Constants.PARALLEL_STRIPES_PER_THREAD;
+        stripeHeight = Math.max(Constants.PARALLEL_MIN_STRIPE_HEIGHT, (nrOfFields + nrOfStripes - 1) / nrOfStripes);
+    }
+
+    @Override
+    public void generateNewGeneration() {
+        if (parallelism == 1 || nrOfFields <= stripeHeight) {
+            super.generateNewGeneration();
+            return;
+        }
+        StripeTask task = new StripeTask(cells, cellsBackbuffer, 0, nrOfFields);
+        pool.invoke(task);
+        swapBuffers();
+        applyChanges(task.changes);
+    }
+
+    private class StripeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 4316937476253489141L;
+
+        private final transient long[] src;
+        private final transient long[] dst;
+        private final int fromRow;
+        private final int toRow;
+        private long changes;
+
+        StripeTask(long[] src, long[] dst, int fromRow, int toRow) {
+            this.src = src;
+            this.dst = dst;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= stripeHeight) {
+                changes = generateRowsAndCountChanges(src, dst, fromRow, toRow);
+            } else {
+                int mid = (fromRow + toRow) >>> 1;
+                StripeTask upper = new StripeTask(src, dst, fromRow, mid);
+                StripeTask lower = new StripeTask(src, dst, mid, toRow);
+                invokeAll(upper, lower);
+                changes = upper.changes + lower.changes;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+import de.calltopower.jgol.api.Viewport;
+import de.calltopower.jgol.enums.FieldValue;
+
+/**
+ * Renders the visible area of a game field straight into the pixels of a TYPE_INT_RGB image.
+ * 
+ * The first pixel line of a row of view cells is filled per view cell and copied to
+ * the remaining lines of the row, grid lines are written as array fills.
+ * No Graphics calls are made. Zoomed out, a pixel is shaded by the number of
+ * living cells of its block, read from the population pyramid of the snapshot, so the
+ * cost depends on the viewport and not on the field size.
+ * 
+ * The colour of every rendered view cell is remembered, after the first (full) render
+ * only view cells whose colour changed are painted again. The highlighted field is
+ * kept by the renderer, it is not part of the rendered generation.
+ */
+final class PixelRenderer {
+
+    private static final int RGB_ACTIVE = GameFieldPainter.COLOR_ACTIVE.getRGB();
+    private static final int RGB_INACTIVE = GameFieldPainter.COLOR_INACTIVE.getRGB();
+    private static final int RGB_HIGHLIGHTED_ACTIVE = GameFieldPainter.COLOR_HIGHLIGHTED_ACTIVE.getRGB();
+    private static final int RGB_HIGHLIGHTED_INACTIVE = GameFieldPainter.COLOR_HIGHLIGHTED_INACTIVE.getRGB();
+    private static final int RGB_LINES = GameFieldPainter.COLOR_LINES.getRGB();
+    private static final int RGB_OUTSIDE = GameFieldPainter.COLOR_OUTSIDE.getRGB();
+    private static final int NR_OF_SHADES = 256;
+    private static final int MIN_SHADE = 64;
+    private static final int[] RGB_SHADES = createShades(GameFieldPainter.COLOR_INACTIVE,
+            GameFieldPainter.COLOR_ACTIVE);
+
+    private final int[] pixels;
+    private final int scanlineStride;
+    private final int nrOfFields;
+    private final Viewport viewport;
+    private final int[] renderedRGB;
+    private boolean invalid;
+    private int highlightedX;
+    private int highlightedY;
+
+    /**
+     * Constructor
+     * 
+     * @param image      The image, must be of type TYPE_INT_RGB and at least as large as the viewport
+     * @param nrOfFields The number of fields
+     * @param viewport   The viewport
+     */
+    PixelRenderer(BufferedImage image, int nrOfFields, Viewport viewport) {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            throw new IllegalArgumentException("Image must be of type TYPE_INT_RGB");
+        }
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.scanlineStride = image.getWidth();
+        this.nrOfFields = nrOfFields;
+        this.viewport = viewport;
+        this.renderedRGB = new int[viewport.getWidth() * viewport.getHeight()];
+        this.invalid = true;
+        this.highlightedX = -1;
+        this.highlightedY = -1;
+    }
+
+    /**
+     * Forces a full render on the next call to render, e.g. after the viewport changed
+     */
+    void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Sets the highlighted field, the view cells are painted on the next render
+     * 
+     * @param x Row or -1 to remove the highlight
+     * @param y Column or -1 to remove the highlight
+     */
+    void setHighlighted(int x, int y) {
+        highlightedX = x;
+        highlightedY = y;
+    }
+
+    /**
+     * Renders all view cells that changed since the last render, all view cells and
+     * grid lines after an invalidation
+     * 
+     * @param snapshot The generation
+     * @return the pixel region that changed or null if nothing changed
+     */
+    Rectangle render(GenerationSnapshot snapshot) {
+        int rows = viewport.getNrOfVisibleRows();
+        int cols = viewport.getNrOfVisibleColumns();
+        if (invalid) {
+            for (int row = 0; row < rows; ++row) {
+                renderRow(snapshot, row, cols);
+            }
+            invalid = false;
+            return new Rectangle(0, 0, viewport.getWidth(), viewport.getHeight());
+        }
+
+        int minRow = Integer.MAX_VALUE;
+        int minCol = Integer.MAX_VALUE;
+        int maxRow = -1;
+        int maxCol = -1;
+        for (int row = 0; row < rows; ++row) {
+            int index = row * cols;
+            for (int col = 0; col < cols; ++col, ++index) {
+                int rgb = getRGB(snapshot, row, col);
+                if (renderedRGB[index] != rgb) {
+                    renderedRGB[index] = rgb;
+                    renderViewCell(row, col, rgb);
+                    minRow = Math.min(minRow, row);
+                    maxRow = Math.max(maxRow, row);
+                    minCol = Math.min(minCol, col);
+                    maxCol = Math.max(maxCol, col);
+                }
+            }
+        }
+
+        return maxRow < 0 ? null : toPixels(minRow, minCol, maxRow, maxCol);
+    }
+
+    /**
+     * Renders the view cell showing a field if it changed since the last render
+     * 
+     * @param snapshot The generation
+     * @param x        Row
+     * @param y        Column
+     * @return the pixel region that changed or null if nothing changed
+     */
+    Rectangle render(GenerationSnapshot snapshot, int x, int y) {
+        if (invalid) {
+            return render(snapshot);
+        }
+        int cellsPerPixel = viewport.getCellsPerPixel();
+        if (x < viewport.getOffsetX() || y < viewport.getOffsetY()) {
+            return null;
+        }
+        int row = (x - viewport.getOffsetX()) / cellsPerPixel;
+        int col = (y - viewport.getOffsetY()) / cellsPerPixel;
+        int cols = viewport.getNrOfVisibleColumns();
+        if (row >= viewport.getNrOfVisibleRows() || col >= cols) {
+            return null;
+        }
+        int rgb = getRGB(snapshot, row, col);
+        int index = row * cols + col;
+        if (renderedRGB[index] == rgb) {
+            return null;
+        }
+        renderedRGB[index] = rgb;
+        renderViewCell(row, col, rgb);
+
+        return toPixels(row, col, row, col);
+    }
+
+    private void renderRow(GenerationSnapshot snapshot, int row, int cols) {
+        int pixelsPerCell = viewport.getPixelsPerCell();
+        int width = viewport.getWidth();
+        int top = row * pixelsPerCell;
+        int lines = Math.min(pixelsPerCell, viewport.getHeight() - top);
+        int rowStart = top * scanlineStride;
+        boolean grid = hasGrid();
+        int fieldX = viewport.getOffsetX() + row;
+        for (int col = 0; col < cols; ++col) {
+            int rgb = getRGB(snapshot, row, col);
+            renderedRGB[row * cols + col] = rgb;
+            int left = col * pixelsPerCell;
+            Arrays.fill(pixels, rowStart + left, rowStart + Math.min(left + pixelsPerCell, width), rgb);
+            if (grid && isLeftLine(col)) {
+                pixels[rowStart + left] = RGB_LINES;
+            }
+        }
+        for (int line = 1; line < lines; ++line) {
+            System.arraycopy(pixels, rowStart, pixels, rowStart + line * scanlineStride, width);
+        }
+        if (grid && fieldX > 0 && fieldX < nrOfFields) {
+            int insideWidth = (int) Math.min(width, (long) (nrOfFields - viewport.getOffsetY()) * pixelsPerCell);
+            Arrays.fill(pixels, rowStart, rowStart + insideWidth, RGB_LINES);
+        }
+    }
+
+    private void renderViewCell(int row, int col, int rgb) {
+        int pixelsPerCell = viewport.getPixelsPerCell();
+        int top = row * pixelsPerCell;
+        int left = col * pixelsPerCell;
+        int lines = Math.min(pixelsPerCell, viewport.getHeight() - top);
+        int end = Math.min(left + pixelsPerCell, viewport.getWidth()) - left;
+        boolean grid = hasGrid() && rgb != RGB_OUTSIDE;
+        boolean topLine = grid && viewport.getOffsetX() + row > 0;
+        boolean leftLine = grid && isLeftLine(col);
+        int start = top * scanlineStride + left;
+        for (int line = 0; line < lines; ++line, start += scanlineStride) {
+            if (line == 0 && topLine) {
+                Arrays.fill(pixels, start, start + end, RGB_LINES);
+            } else {
+                Arrays.fill(pixels, start, start + end, rgb);
+                if (leftLine) {
+                    pixels[start] = RGB_LINES;
+                }
+            }
+        }
+    }
+
+    private int getRGB(GenerationSnapshot snapshot, int row, int col) {
+        int cellsPerPixel = viewport.getCellsPerPixel();
+        long x = viewport.getOffsetX() + (long) row * cellsPerPixel;
+        long y = viewport.getOffsetY() + (long) col * cellsPerPixel;
+        if (x >= nrOfFields || y >= nrOfFields) {
+            return RGB_OUTSIDE;
+        }
+        if (cellsPerPixel == 1) {
+            boolean active = snapshot.getValue((int) x, (int) y) == FieldValue.ACTIVE;
+            if (x == highlightedX && y == highlightedY) {
+                return active ? RGB_HIGHLIGHTED_ACTIVE : RGB_HIGHLIGHTED_INACTIVE;
+            }
+            return active ? RGB_ACTIVE : RGB_INACTIVE;
+        }
+        int rows = (int) Math.min(cellsPerPixel, nrOfFields - x);
+        int cols = (int) Math.min(cellsPerPixel, nrOfFields - y);
+        long alive = snapshot.getNrOfAliveCellsOfBlock((int) x, (int) y, cellsPerPixel);
+        if (alive == 0) {
+            return RGB_SHADES[0];
+        }
+        // Blocks with a single living cell stay visible
+        long cells = (long) rows * cols;
+        return RGB_SHADES[MIN_SHADE + (int) (alive * (NR_OF_SHADES - 1 - MIN_SHADE) / cells)];
+    }
+
+    private boolean hasGrid() {
+        return viewport.getCellsPerPixel() == 1 && viewport.getPixelsPerCell() > 1;
+    }
+
+    private boolean isLeftLine(int col) {
+        int y = viewport.getOffsetY() + col;
+        return y > 0 && y < nrOfFields;
+    }
+
+    private Rectangle toPixels(int minRow, int minCol, int maxRow, int maxCol) {
+        int pixelsPerCell = viewport.getPixelsPerCell();
+        int left = minCol * pixelsPerCell;
+        int top = minRow * pixelsPerCell;
+        return new Rectangle(left, top, Math.min((maxCol + 1) * pixelsPerCell, viewport.getWidth()) - left,
+                Math.min((maxRow + 1) * pixelsPerCell, viewport.getHeight()) - top);
+    }
+
+    private static int[] createShades(Color from, Color to) {
+        int[] shades = new int[NR_OF_SHADES];
+        for (int i = 0; i < NR_OF_SHADES; ++i) {
+            int r = from.getRed() + (to.getRed() - from.getRed()) * i / (NR_OF_SHADES - 1);
+            int g = from.getGreen() + (to.getGreen() - from.getGreen()) * i / (NR_OF_SHADES - 1);
+            int b = from.getBlue() + (to.getBlue() - from.getBlue()) * i / (NR_OF_SHADES - 1);
+            shades[i] = new Color(r, g, b).getRGB();
+        }
+
+        return shades;
+    }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import de.calltopower.jgol.api.ChangedWordConsumer;
+import de.calltopower.jgol.utils.Constants;
+
+/**
+ * Population pyramid of a board in the packed layout (see Simulation.copyTo): the number of alive cells
+ * of every square block, one level per block size. The lowest level counts blocks of
+ * Constants.PYRAMID_BLOCK_SIZE cells, every further level doubles the block size and sums four blocks of
+ * the level below, up to one block covering the whole board. Blocks at the border of the board only
+ * count the cells inside of the board.
+ * 
+ * The changed words are marked between two updates, an update counts the marked blocks of the lowest
+ * level again and sums their parents, so its cost depends on the changes and not on the board size.
+ * 
+ * Marked and updated by the thread owning the simulation, the counts are read after the update has been
+ * published.
+ */
+final class PopulationPyramid implements ChangedWordConsumer {
+
+    private static final int BLOCK_SIZE = Constants.PYRAMID_BLOCK_SIZE;
+    private static final int BLOCK_SHIFT = Integer.numberOfTrailingZeros(BLOCK_SIZE);
+    private static final int BLOCKS_PER_WORD = 64 / BLOCK_SIZE;
+    private static final long BLOCK_MASK = (1L << BLOCK_SIZE) - 1;
+
+    private final int nrOfFields;
+    private final int wordsPerRow;
+    // Blocks per row and per column of each level
+    private final int[] sizes;
+    private final int[][] counts;
+    // One bit per block of each level, set if the block has to be counted again
+    private final long[][] marks;
+    private boolean allChanged;
+
+    /**
+     * Constructor, all blocks are marked as changed
+     * 
+     * @param nrOfFields The number of fields
+     */
+    PopulationPyramid(int nrOfFields) {
+        this.nrOfFields = nrOfFields;
+        this.wordsPerRow = (nrOfFields + 63) >>> 6;
+        int nrOfLevels = 1;
+        for (int blocks = (nrOfFields + BLOCK_SIZE - 1) >>> BLOCK_SHIFT; blocks > 1; blocks = (blocks + 1) >>> 1) {
+            ++nrOfLevels;
+        }
+        this.sizes = new int[nrOfLevels];
+        this.counts = new int[nrOfLevels][];
+        this.marks = new long[nrOfLevels][];
+        int blocks = (nrOfFields + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        for (int level = 0; level < nrOfLevels; ++level) {
+            sizes[level] = blocks;
+            counts[level] = new int[blocks * blocks];
+            marks[level] = new long[(blocks * blocks + 63) >>> 6];
+            blocks = (blocks + 1) >>> 1;
+        }
+        this.allChanged = true;
+    }
+
+    /**
+     * Returns the level of a block size
+     * 
+     * @param blockSize The block size in cells
+     * @return the level, -1 if the pyramid has no level of that block size
+     */
+    int getLevel(int blockSize) {
+        if (blockSize < BLOCK_SIZE || Integer.bitCount(blockSize) != 1) {
+            return -1;
+        }
+        int level = Integer.numberOfTrailingZeros(blockSize) - BLOCK_SHIFT;
+        return level < sizes.length ? level : -1;
+    }
+
+    /**
+     * Returns the number of alive cells of a block
+     * 
+     * @param level The level
+     * @param x     The first row of the block, a multiple of the block size of the level
+     * @param y     The first column of the block, a multiple of the block size of the level
+     * @return the number of alive cells of the block
+     */
+    int getNrOfAliveCells(int level, int x, int y) {
+        int shift = BLOCK_SHIFT + level;
+        return counts[level][(x >>> shift) * sizes[level] + (y >>> shift)];
+    }
+
+    /**
+     * Marks the blocks of a changed word
+     */
+    @Override
+    public void accept(int index, long changed) {
+        int row = index / wordsPerRow;
+        int block = (row >>> BLOCK_SHIFT) * sizes[0] + (index - row * wordsPerRow) * BLOCKS_PER_WORD;
+        for (int i = 0; i < BLOCKS_PER_WORD; ++i, ++block) {
+            if (((changed >>> (i * BLOCK_SIZE)) & BLOCK_MASK) != 0) {
+                marks[0][block >>> 6] |= 1L << block;
+            }
+        }
+    }
+
+    /**
+     * Marks all blocks, e.g. if the changed words are not known
+     */
+    void markAllChanged() {
+        allChanged = true;
+    }
+
+    /**
+     * Counts the marked blocks again
+     * 
+     * @param bits The packed bits of the board, only the marked words changed since the last update
+     */
+    void update(long[] bits) {
+        for (int level = 0; level < sizes.length; ++level) {
+            int size = sizes[level];
+            int nrOfBlocks = size * size;
+            long[] levelMarks = marks[level];
+            int[] levelCounts = counts[level];
+            for (int i = 0; i < levelMarks.length; ++i) {
+                long marked = allChanged ? -1L : levelMarks[i];
+                levelMarks[i] = 0;
+                while (marked != 0) {
+                    int block = (i << 6) + Long.numberOfTrailingZeros(marked);
+                    marked &= marked - 1;
+                    if (block >= nrOfBlocks) {
+                        break;
+                    }
+                    int blockX = block / size;
+                    int blockY = block - blockX * size;
+                    levelCounts[block] = level == 0 ? count(bits, blockX, blockY) : sum(level, blockX, blockY);
+                    if (level + 1 < sizes.length) {
+                        int parent = (blockX >>> 1) * sizes[level + 1] + (blockY >>> 1);
+                        marks[level + 1][parent >>> 6] |= 1L << parent;
+                    }
+                }
+            }
+        }
+        allChanged = false;
+    }
+
+    private int count(long[] bits, int blockX, int blockY) {
+        int first = blockX << BLOCK_SHIFT;
+        int last = Math.min(first + BLOCK_SIZE, nrOfFields);
+        int y = blockY << BLOCK_SHIFT;
+        int index = first * wordsPerRow + (y >>> 6);
+        int shift = y & 63;
+        int count = 0;
+        for (int x = first; x < last; ++x, index += wordsPerRow) {
+            count += Long.bitCount((bits[index] >>> shift) & BLOCK_MASK);
+        }
+        return count;
+    }
+
+    private int sum(int level, int blockX, int blockY) {
+        int size = sizes[level - 1];
+        int[] below = counts[level - 1];
+        int x = blockX << 1;
+        int y = blockY << 1;
+        int sum = below[x * size + y];
+        if (y + 1 < size) {
+            sum += below[x * size + y + 1];
+        }
+        if (x + 1 < size) {
+            sum += below[(x + 1) * size + y];
+            if (y + 1 < size) {
+                sum += below[(x + 1) * size + y + 1];
+            }
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,207 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.util.Arrays;
+
+import de.calltopower.jgol.enums.FieldValue;
+import de.calltopower.jgol.utils.LongHashSet;
+import de.calltopower.jgol.utils.LongIntHashMap;
+
+/**
+ * GameField implementation storing only the living cells of an unbounded
+ * universe, showing the square nrOfFields x nrOfFields at row/column (0, 0).
+ * 
+ * Cells are packed (row, column) long keys. A generation only visits the
+ * living cells and their neighbors, so its cost scales with the population.
+ * Cells leaving the field keep living outside of it.
+ */
+public class SparseGameFieldImpl extends AbstractGameField {
+
+    private static final int ALIVE = 16;
+    private static final int NEIGHBOR_MASK = ALIVE - 1;
+
+    private LongHashSet cells;
+    private LongHashSet cellsBackbuffer;
+    private LongIntHashMap neighbors;
+    private int nrOfAliveCells;
+    private int nrOfBirths;
+    private int nrOfDeaths;
+
+    private final LongHashSet.LongConsumer countNeighbors;
+    private final LongIntHashMap.LongIntConsumer applyRules;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    public SparseGameFieldImpl(int nrOfFields, int fieldSize) {
+        super(nrOfFields, fieldSize);
+        cells = new LongHashSet(nrOfFields * 2);
+        cellsBackbuffer = new LongHashSet(nrOfFields * 2);
+        neighbors = new LongIntHashMap(nrOfFields * 8);
+        countNeighbors = this::countNeighbors;
+        applyRules = this::applyRules;
+    }
+
+    /**
+     * Packs row/column into a key
+     * 
+     * @param x Row
+     * @param y Column
+     * @return the key
+     */
+    public static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the number of living cells, including the cells outside of the field
+     * 
+     * @return the number of living cells
+     */
+    public int getPopulation() {
+        return cells.size();
+    }
+
+    @Override
+    public FieldValue getValue(int x, int y) {
+        if (!isValidCoordinate(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return cells.contains(key(x, y)) ? FieldValue.ACTIVE : FieldValue.INACTIVE;
+    }
+
+    @Override
+    public boolean set(int x, int y, FieldValue value) {
+        if (!isValidCoordinate(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (value == FieldValue.ACTIVE) {
+            if (cells.add(key(x, y))) {
+                ++nrOfAliveCells;
+            }
+        } else if (cells.remove(key(x, y))) {
+            --nrOfAliveCells;
+        }
+        return true;
+    }
+
+    @Override
+    public void generateNewGeneration() {
+        neighbors.clear();
+        cells.forEach(countNeighbors);
+        cellsBackbuffer.clear();
+        // Births and the number of alive cells are counted inside of the field only
+        int previousNrOfAliveCells = nrOfAliveCells;
+        nrOfAliveCells = 0;
+        nrOfBirths = 0;
+        neighbors.forEach(applyRules);
+        nrOfDeaths = previousNrOfAliveCells + nrOfBirths - nrOfAliveCells;
+        LongHashSet tmp = cells;
+        cells = cellsBackbuffer;
+        cellsBackbuffer = tmp;
+    }
+
+    @Override
+    public int getNrOfAliveCells() {
+        return nrOfAliveCells;
+    }
+
+    @Override
+    public int getNrOfBirths() {
+        return nrOfBirths;
+    }
+
+    @Override
+    public int getNrOfDeaths() {
+        return nrOfDeaths;
+    }
+
+    @Override
+    public int getNrOfAliveCells(int x, int y, int rows, int columns) {
+        if ((long) rows * columns <= cells.size()) {
+            return super.getNrOfAliveCells(x, y, rows, columns);
+        }
+        // Fewer living cells than cells in the region
+        int[] count = { 0 };
+        cells.forEach(key -> {
+            int row = (int) (key >> 32);
+            int col = (int) key;
+            if (row >= x && row < x + rows && col >= y && col < y + columns && isValidCoordinate(row, col)) {
+                ++count[0];
+            }
+        });
+
+        return count[0];
+    }
+
+    @Override
+    public void copyTo(long[] bits) {
+        int wordsPerRow = (nrOfFields + 63) >>> 6;
+        Arrays.fill(bits, 0, nrOfFields * wordsPerRow, 0L);
+        cells.forEach(key -> {
+            int row = (int) (key >> 32);
+            int col = (int) key;
+            if (isValidCoordinate(row, col)) {
+                bits[row * wordsPerRow + (col >>> 6)] |= 1L << (col & 63);
+            }
+        });
+    }
+
+    @Override
+    public void copyFrom(long[] bits) {
+        int wordsPerRow = (nrOfFields + 63) >>> 6;
+        cells.clear();
+        nrOfAliveCells = 0;
+        for (int i = 0; i < nrOfFields; ++i) {
+            for (int w = 0; w < wordsPerRow; ++w) {
+                long word = bits[i * wordsPerRow + w];
+                while (word != 0) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (j < nrOfFields) {
+                        cells.add(key(i, j));
+                        ++nrOfAliveCells;
+                    }
+                }
+            }
+        }
+    }
+
+    private void countNeighbors(long key) {
+        int x = (int) (key >> 32);
+        int y = (int) key;
+        neighbors.add(key, ALIVE);
+        neighbors.add(key(x - 1, y - 1), 1);
+        neighbors.add(key(x - 1, y), 1);
+        neighbors.add(key(x - 1, y + 1), 1);
+        neighbors.add(key(x, y - 1), 1);
+        neighbors.add(key(x, y + 1), 1);
+        neighbors.add(key(x + 1, y - 1), 1);
+        neighbors.add(key(x + 1, y), 1);
+        neighbors.add(key(x + 1, y + 1), 1);
+    }
+
+    private void applyRules(long key, int value) {
+        int nrOfNeighbors = value & NEIGHBOR_MASK;
+        // Each cell with two or three neighbors survives.
+        // Each cell with three neighbors becomes populated.
+        if (nrOfNeighbors == 3 || (nrOfNeighbors == 2 && value >= ALIVE)) {
+            cellsBackbuffer.add(key);
+            if (isValidCoordinate((int) (key >> 32), (int) key)) {
+                ++nrOfAliveCells;
+                if (value < ALIVE) {
+                    ++nrOfBirths;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+/**
+ * Packed GameField implementation computing 64 cells per step with bit-sliced adders (SWAR).
+ * 
+ * The eight neighbours of every cell in a word are the words of the rows
+ * above and below and their one-bit shifts. They are summed bitwise into a
+ * ones, twos and four-or-more plane and the rule is applied on the planes.
+ */
+public class SwarGameFieldImpl extends PackedGameFieldImpl {
+
+    protected final long lastWordMask;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    public SwarGameFieldImpl(int nrOfFields, int fieldSize) {
+        super(nrOfFields, fieldSize);
+        int bitsInLastWord = nrOfFields & 63;
+        lastWordMask = bitsInLastWord == 0 ? -1L : (1L << bitsInLastWord) - 1;
+    }
+
+    /**
+     * Computes the next generation of 64 cells.
+     * Bit k of every word is column k of its row, the left and right words hold
+     * the columns next to the word.
+     * 
+     * @param aboveLeft  The word left of the word above
+     * @param above      The word above
+     * @param aboveRight The word right of the word above
+     * @param left       The word left of the word
+     * @param center     The word
+     * @param right      The word right of the word
+     * @param belowLeft  The word left of the word below
+     * @param below      The word below
+     * @param belowRight The word right of the word below
+     * @return the word of the next generation
+     */
+    public static long nextWord(long aboveLeft, long above, long aboveRight, long left, long center, long right,
+            long belowLeft, long below, long belowRight) {
+        // Neighbors in column - 1 are bit k - 1, neighbors in column + 1 are bit k + 1
+        long aW = (above << 1) | (aboveLeft >>> 63);
+        long aE = (above >>> 1) | (aboveRight << 63);
+        long cW = (center << 1) | (left >>> 63);
+        long cE = (center >>> 1) | (right << 63);
+        long bW = (below << 1) | (belowLeft >>> 63);
+        long bE = (below >>> 1) | (belowRight << 63);
+
+        // Full adders over the eight neighbors
+        long s1 = aW ^ above ^ aE;
+        long c1 = (aW & above) | (aE & (aW ^ above));
+        long s2 = cW ^ cE ^ bW;
+        long c2 = (cW & cE) | (bW & (cW ^ cE));
+        long s3 = below ^ bE;
+        long c3 = below & bE;
+
+        long ones = s1 ^ s2 ^ s3;
+        long c4 = (s1 & s2) | (s3 & (s1 ^ s2));
+
+        long t = c1 ^ c2 ^ c3;
+        long c5 = (c1 & c2) | (c3 & (c1 ^ c2));
+        long twos = t ^ c4;
+        long c6 = t & c4;
+        long fours = c5 | c6;
+
+        // fours is set for four or more neighbors.
+        // Each cell with three neighbors becomes populated.
+        // Each cell with two or three neighbors survives.
+        return twos & ~fours & (ones | center);
+    }
+
+    @Override
+    protected long nextWord(long[] src, int row, int word) {
+        int offset = row * wordsPerRow;
+        int aboveOffset = row > 0 ? offset - wordsPerRow : -1;
+        int belowOffset = row < nrOfFields - 1 ? offset + wordsPerRow : -1;
+        long next = nextWord(
+                word(src, aboveOffset, word - 1), word(src, aboveOffset, word), word(src, aboveOffset, word + 1),
+                word(src, offset, word - 1), src[offset + word], word(src, offset, word + 1),
+                word(src, belowOffset, word - 1), word(src, belowOffset, word), word(src, belowOffset, word + 1));
+        return word == wordsPerRow - 1 ? next & lastWordMask : next;
+    }
+
+    /**
+     * Returns a word of a row, cells outside of the field are dead
+     * 
+     * @param src       The cells
+     * @param rowOffset The offset of the row or -1 if the row is outside of the field
+     * @param word      The word index inside the row
+     * @return the word
+     */
+    protected long word(long[] src, int rowOffset, int word) {
+        if (rowOffset < 0 || word < 0 || word >= wordsPerRow) {
+            return 0L;
+        }
+        return src[rowOffset + word];
+    }
+
+}
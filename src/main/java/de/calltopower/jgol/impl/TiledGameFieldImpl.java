@@ -0,0 +1,135 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import java.util.Arrays;
+
+import de.calltopower.jgol.api.ChangedWordConsumer;
+import de.calltopower.jgol.enums.FieldValue;
+import de.calltopower.jgol.utils.Constants;
+import lombok.Getter;
+
+/**
+ * SWAR GameField implementation skipping stable and empty regions.
+ * 
+ * The field is split into tiles of one word (64 columns) times TILE_HEIGHT
+ * rows. A tile is only computed if it or one of its eight neighbor tiles
+ * changed in the last generation. A skipped tile did not change between the
+ * two buffers, so the back buffer already holds its next generation.
+ */
+public class TiledGameFieldImpl extends SwarGameFieldImpl {
+
+    private final int tileHeight;
+    private final int tilesPerColumn;
+    private boolean[] tileChanged;
+    private boolean[] tileChangedBackbuffer;
+
+    @Getter
+    private int nrOfActiveTiles;
+
+    @Getter
+    private int nrOfSkippedTiles;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    public TiledGameFieldImpl(int nrOfFields, int fieldSize) {
+        super(nrOfFields, fieldSize);
+        tileHeight = Constants.TILE_HEIGHT;
+        tilesPerColumn = (nrOfFields + tileHeight - 1) / tileHeight;
+        tileChanged = new boolean[tilesPerColumn * wordsPerRow];
+        tileChangedBackbuffer = new boolean[tilesPerColumn * wordsPerRow];
+        Arrays.fill(tileChanged, true);
+    }
+
+    @Override
+    public boolean set(int x, int y, FieldValue value) {
+        boolean set = super.set(x, y, value);
+        tileChanged[(x / tileHeight) * wordsPerRow + (y >>> 6)] = true;
+        return set;
+    }
+
+    @Override
+    public void copyFrom(long[] bits) {
+        super.copyFrom(bits);
+        // Every tile is computed in the next generation, which also overwrites the whole back buffer
+        Arrays.fill(tileChanged, true);
+    }
+
+    @Override
+    public boolean forEachChangedWord(ChangedWordConsumer consumer) {
+        // Only the tiles changed in the last generation differ from the back buffer
+        for (int tileRow = 0; tileRow < tilesPerColumn; ++tileRow) {
+            int fromRow = tileRow * tileHeight;
+            int toRow = Math.min(fromRow + tileHeight, nrOfFields);
+            for (int word = 0; word < wordsPerRow; ++word) {
+                if (tileChanged[tileRow * wordsPerRow + word]) {
+                    forEachChangedWord(fromRow * wordsPerRow + word, toRow * wordsPerRow, wordsPerRow, consumer);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void generateNewGeneration() {
+        nrOfActiveTiles = 0;
+        nrOfSkippedTiles = 0;
+        int births = 0;
+        int deaths = 0;
+        for (int tileRow = 0; tileRow < tilesPerColumn; ++tileRow) {
+            int fromRow = tileRow * tileHeight;
+            int toRow = Math.min(fromRow + tileHeight, nrOfFields);
+            for (int word = 0; word < wordsPerRow; ++word) {
+                int tile = tileRow * wordsPerRow + word;
+                if (!isTileOrNeighborChanged(tileRow, word)) {
+                    ++nrOfSkippedTiles;
+                    tileChangedBackbuffer[tile] = false;
+                    continue;
+                }
+                ++nrOfActiveTiles;
+                boolean changed = false;
+                for (int row = fromRow; row < toRow; ++row) {
+                    int index = row * wordsPerRow + word;
+                    long current = cells[index];
+                    long next = nextWord(cells, row, word);
+                    changed |= next != current;
+                    births += Long.bitCount(next & ~current);
+                    deaths += Long.bitCount(current & ~next);
+                    cellsBackbuffer[index] = next;
+                }
+                tileChangedBackbuffer[tile] = changed;
+            }
+        }
+        swapBuffers();
+        applyChanges(((long) births << 32) | deaths);
+        boolean[] tmp = tileChanged;
+        tileChanged = tileChangedBackbuffer;
+        tileChangedBackbuffer = tmp;
+    }
+
+    private boolean isTileOrNeighborChanged(int tileRow, int word) {
+        int fromTileRow = Math.max(tileRow - 1, 0);
+        int toTileRow = Math.min(tileRow + 1, tilesPerColumn - 1);
+        int fromWord = Math.max(word - 1, 0);
+        int toWord = Math.min(word + 1, wordsPerRow - 1);
+        for (int r = fromTileRow; r <= toTileRow; ++r) {
+            for (int w = fromWord; w <= toWord; ++w) {
+                if (tileChanged[r * wordsPerRow + w]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+}
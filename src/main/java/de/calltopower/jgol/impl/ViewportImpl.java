@@ -0,0 +1,161 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import de.calltopower.jgol.api.Viewport;
+import de.calltopower.jgol.utils.Constants;
+import lombok.Getter;
+
+/**
+ * Viewport implementation.
+ * Zoom steps double or halve the scale, the visible area is kept inside of the field.
+ * Zoomed out, the offsets are multiples of the cells per pixel, so every pixel shows
+ * a block aligned to its size.
+ */
+public class ViewportImpl implements Viewport {
+
+    private final int nrOfFields;
+    private int panRemainderX;
+    private int panRemainderY;
+
+    @Getter
+    private final int width;
+
+    @Getter
+    private final int height;
+
+    @Getter
+    private int pixelsPerCell;
+
+    @Getter
+    private int cellsPerPixel;
+
+    @Getter
+    private int offsetX;
+
+    @Getter
+    private int offsetY;
+
+    /**
+     * Constructor
+     * 
+     * @param width      The width in pixels
+     * @param height     The height in pixels
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The initial field size
+     */
+    public ViewportImpl(int width, int height, int nrOfFields, int fieldSize) {
+        this.width = width;
+        this.height = height;
+        this.nrOfFields = nrOfFields;
+        pixelsPerCell = fieldSize;
+        cellsPerPixel = 1;
+        offsetX = 0;
+        offsetY = 0;
+    }
+
+    /**
+     * Returns the size in pixels of a viewport showing a whole field, limited to Constants.VIEWPORT_MAX_SIZE
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     * @return the size in pixels
+     */
+    public static int getSize(int nrOfFields, int fieldSize) {
+        return (int) Math.min((long) nrOfFields * fieldSize, Constants.VIEWPORT_MAX_SIZE);
+    }
+
+    @Override
+    public int getNrOfVisibleRows() {
+        return (height + pixelsPerCell - 1) / pixelsPerCell;
+    }
+
+    @Override
+    public int getNrOfVisibleColumns() {
+        return (width + pixelsPerCell - 1) / pixelsPerCell;
+    }
+
+    @Override
+    public int getRow(int yCoord) {
+        return offsetX + yCoord / pixelsPerCell * cellsPerPixel;
+    }
+
+    @Override
+    public int getColumn(int xCoord) {
+        return offsetY + xCoord / pixelsPerCell * cellsPerPixel;
+    }
+
+    @Override
+    public boolean zoomIn(int xCoord, int yCoord) {
+        if (cellsPerPixel > 1) {
+            return zoom(xCoord, yCoord, 1, cellsPerPixel / 2);
+        }
+        if (pixelsPerCell < Constants.GAME_MAX_FIELD_SIZE) {
+            return zoom(xCoord, yCoord, Math.min(pixelsPerCell * 2, Constants.GAME_MAX_FIELD_SIZE), 1);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean zoomOut(int xCoord, int yCoord) {
+        // Stop as soon as the whole field is visible
+        if ((long) nrOfFields * pixelsPerCell <= (long) Math.min(width, height) * cellsPerPixel) {
+            return false;
+        }
+        if (pixelsPerCell > 1) {
+            return zoom(xCoord, yCoord, pixelsPerCell / 2, 1);
+        }
+        return zoom(xCoord, yCoord, 1, cellsPerPixel * 2);
+    }
+
+    @Override
+    public boolean pan(int dxCoord, int dyCoord) {
+        int oldOffsetX = offsetX;
+        int oldOffsetY = offsetY;
+        panRemainderX += dyCoord * cellsPerPixel;
+        panRemainderY += dxCoord * cellsPerPixel;
+        offsetX -= panRemainderX / pixelsPerCell;
+        offsetY -= panRemainderY / pixelsPerCell;
+        panRemainderX %= pixelsPerCell;
+        panRemainderY %= pixelsPerCell;
+        clamp();
+
+        return offsetX != oldOffsetX || offsetY != oldOffsetY;
+    }
+
+    @Override
+    public String toString() {
+        if (cellsPerPixel > 1) {
+            return String.format("1 px/%d cells", cellsPerPixel);
+        }
+        return String.format("%d px/cell", pixelsPerCell);
+    }
+
+    private boolean zoom(int xCoord, int yCoord, int newPixelsPerCell, int newCellsPerPixel) {
+        int row = getRow(yCoord);
+        int col = getColumn(xCoord);
+        pixelsPerCell = newPixelsPerCell;
+        cellsPerPixel = newCellsPerPixel;
+        offsetX = row - yCoord / pixelsPerCell * cellsPerPixel;
+        offsetY = col - xCoord / pixelsPerCell * cellsPerPixel;
+        panRemainderX = 0;
+        panRemainderY = 0;
+        clamp();
+
+        return true;
+    }
+
+    private void clamp() {
+        long visibleRows = (long) height * cellsPerPixel / pixelsPerCell;
+        long visibleCols = (long) width * cellsPerPixel / pixelsPerCell;
+        offsetX = (int) Math.max(0, Math.min(offsetX, nrOfFields - visibleRows));
+        offsetY = (int) Math.max(0, Math.min(offsetY, nrOfFields - visibleCols));
+        offsetX -= offsetX % cellsPerPixel;
+        offsetY -= offsetY % cellsPerPixel;
+    }
+
+}
@@ -30,7 +30,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import de.calltopower.jgol.utils.Constants;
-import de.calltopower.jgol.utils.FileData;
 
 /**
  * The controls UI
@@ -45,6 +44,8 @@ public class ControlsUI extends JFrame {
     private JButton startPauseButton;
     private JButton resetButton;
     private JButton nextGenerationButton;
+    private JButton stepBackButton;
+    private JButton rewindButton;
     private JButton quitButton;
     private JButton aboutButton;
     private JButton clearButton;
@@ -90,7 +91,7 @@ public class ControlsUI extends JFrame {
 
         registerButtons();
 
-        Dimension minimumDimension = new Dimension(300, 420);
+        Dimension minimumDimension = new Dimension(300, 450);
         setMinimumSize(minimumDimension);
         setPreferredSize(minimumDimension);
         pack();
@@ -106,10 +107,37 @@ public class ControlsUI extends JFrame {
 
         fieldUI = new FieldUI();
         fieldUI.setVisible(true);
+        // The game may have been resumed from a checkpoint
+        updateSliders(fieldUI.getGame().getNrOfFields(), fieldUI.getGame().getFieldSize());
+        if (!fieldUI.getGame().isHistoryEnabled()) {
+            stepBackButton.setEnabled(false);
+            rewindButton.setEnabled(false);
+            stepBackButton.setToolTipText("The history is disabled (-D" + Constants.HISTORY_PROPERTY + "=false)");
+            rewindButton.setToolTipText(stepBackButton.getToolTipText());
+        }
 
         fieldUI.updateGenerationTimeout(generationLengthSlider.getValue());
     }
 
+    /**
+     * Shows the size of the current game without creating a new game
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    private void updateSliders(int nrOfFields, int fieldSize) {
+        if (fieldSizeSlider.getValue() != fieldSize) {
+            updateGUIOnFieldSizeSliderChange = false;
+            fieldSizeSlider.setValue(fieldSize);
+        }
+        labelFieldSizeVal.setText(String.valueOf(fieldSizeSlider.getValue()));
+        if (nrOfFieldsSlider.getValue() != nrOfFields) {
+            updateGUIOnFieldDimensionSliderChange = false;
+            nrOfFieldsSlider.setValue(nrOfFields);
+        }
+        labelNrOfFieldsVal.setText(String.valueOf(nrOfFieldsSlider.getValue()));
+    }
+
     private void showAboutDialog(String title, String msg) {
         JOptionPane.showMessageDialog(this, msg, title, JOptionPane.INFORMATION_MESSAGE);
     }
@@ -125,12 +153,14 @@ public class ControlsUI extends JFrame {
         startPauseButton = new JButton("Start");
         resetButton = new JButton("New random field");
         nextGenerationButton = new JButton("Next generation");
+        stepBackButton = new JButton("Step back");
+        rewindButton = new JButton("Rewind");
         quitButton = new JButton("Quit");
         aboutButton = new JButton("About");
         clearButton = new JButton("Clear");
         importButton = new JButton("Import");
         exportButton = new JButton("Export");
-        generationLengthSlider = new JSlider(1, Constants.GAME_MAX_GENERATION_LENGTH);
+        generationLengthSlider = new JSlider(Constants.GAME_MIN_GENERATION_LENGTH, Constants.GAME_MAX_GENERATION_LENGTH);
         generationLengthSlider.setValue((int) Constants.DEFAULT_GENERATION_TIMEOUT);
         labelGenerationTimeout = new JLabel("Generation Length (ms)	:");
         labelGenerationTimeoutVal = new JLabel(String.valueOf(generationLengthSlider.getValue()));
@@ -157,6 +187,18 @@ public class ControlsUI extends JFrame {
         c.gridy = currY++;
         panelMain.add(nextGenerationButton, c);
 
+        c.weightx = 0.1;
+        c.gridwidth = 1;
+        c.gridx = 0;
+        c.gridy = currY;
+        panelMain.add(rewindButton, c);
+
+        c.weightx = 0.9;
+        c.gridwidth = 2;
+        c.gridx = 1;
+        c.gridy = currY++;
+        panelMain.add(stepBackButton, c);
+
         c.weightx = 0.1;
         c.gridwidth = 3;
         c.gridx = 0;
@@ -318,6 +360,18 @@ public class ControlsUI extends JFrame {
             fieldUI.generateNextGeneration();
         }));
 
+        stepBackButton.addActionListener((e) -> SwingUtilities.invokeLater(() -> {
+            LOGGER.info("Clicked Step Back");
+            updateStartPauseButtonText(false);
+            fieldUI.stepBack();
+        }));
+
+        rewindButton.addActionListener((e) -> SwingUtilities.invokeLater(() -> {
+            LOGGER.info("Clicked Rewind");
+            updateStartPauseButtonText(false);
+            fieldUI.rewind();
+        }));
+
         resetButton.addActionListener((e) -> SwingUtilities.invokeLater(() -> {
             LOGGER.info("Clicked Reset");
             updateStartPauseButtonText(false);
@@ -369,23 +423,11 @@ public class ControlsUI extends JFrame {
         importButton.addActionListener((e) -> SwingUtilities.invokeLater(() -> {
             LOGGER.info("Clicked Import");
             updateStartPauseButtonText(false);
-            FileData fileData = fieldUI.importFile();
-            if (fileData != null) {
-                fieldUI.setVisible(false);
-                updateGUIOnFieldSizeSliderChange = false;
-                updateGUIOnFieldDimensionSliderChange = false;
-                fieldSizeSlider.setValue(fileData.getFieldSize());
-                labelFieldSizeVal.setText(String.valueOf(fieldSizeSlider.getValue()));
-                nrOfFieldsSlider.setValue(fileData.getFieldSize());
-                labelNrOfFieldsVal.setText(String.valueOf(fieldSizeSlider.getValue()));
-                fieldUI.setFile(fileData);
-                fieldUI.setVisible(true);
-            }
+            fieldUI.importFile(fileData -> updateSliders(fileData.getNrOfFields(), fileData.getFieldSize()));
         }));
 
         exportButton.addActionListener((e) -> SwingUtilities.invokeLater(() -> {
             LOGGER.info("Clicked Export");
-            updateStartPauseButtonText(false);
             fieldUI.exportFile();
         }));
 
@@ -6,20 +6,26 @@
 
 package de.calltopower.jgol.ui;
 
+import java.awt.Canvas;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.GridLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
-import java.io.IOException;
+import java.awt.event.MouseWheelEvent;
 import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import javax.swing.BorderFactory;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -28,7 +34,16 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import de.calltopower.jgol.api.Game;
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.api.RenderTarget;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.enums.RenderType;
+import de.calltopower.jgol.impl.CanvasRenderTarget;
+import de.calltopower.jgol.impl.GameFieldFactory;
 import de.calltopower.jgol.impl.GameImpl;
+import de.calltopower.jgol.impl.PanelRenderTarget;
+import de.calltopower.jgol.impl.ViewportImpl;
+import de.calltopower.jgol.utils.Checkpointer;
 import de.calltopower.jgol.utils.Constants;
 import de.calltopower.jgol.utils.FileData;
 import de.calltopower.jgol.utils.FileUtils;
@@ -43,7 +58,10 @@ public class FieldUI extends JFrame {
 	private static final Logger LOGGER = LogManager.getLogger(FieldUI.class);
 
 	private JPanel panelMain;
+	private Canvas canvas;
 	private GameImpl game;
+	private int panX;
+	private int panY;
 
 	/**
 	 * Constructor
@@ -58,11 +76,21 @@ public class FieldUI extends JFrame {
 		panelMain.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		GridLayout layout = new GridLayout(1, 1, -1, -1);
 		panelMain.setLayout(layout);
+		if (getRenderType() == RenderType.CANVAS) {
+			canvas = new Canvas();
+			canvas.setIgnoreRepaint(true);
+			panelMain.add(canvas);
+		}
 
 		setUndecorated(true);
 		setContentPane(panelMain);
 
-		int size = Constants.DEFAULT_NR_OF_FIELDS * Constants.DEFAULT_FIELD_SIZE;
+		// Resume from the latest checkpoint, if any
+		FileData checkpoint = new Checkpointer(Constants.JGOL_DATA_NAME).getLatest();
+		int nrOfFields = checkpoint != null ? checkpoint.getNrOfFields() : Constants.DEFAULT_NR_OF_FIELDS;
+		int fieldSize = checkpoint != null ? checkpoint.getFieldSize() : Constants.DEFAULT_FIELD_SIZE;
+
+		int size = ViewportImpl.getSize(nrOfFields, fieldSize);
 		Dimension dimension = new Dimension(size, size + Constants.INFO_FIELD_SIZE);
 		setMinimumSize(dimension);
 		setPreferredSize(dimension);
@@ -72,9 +100,19 @@ public class FieldUI extends JFrame {
 
 		setLocationRelativeTo(null);
 
-		registerMouseListeners();
+		// Heavyweight components receive the mouse events themselves
+		registerMouseListeners(canvas != null ? canvas : this);
 
-		game = new GameImpl(panelMain, Constants.DEFAULT_NR_OF_FIELDS, Constants.DEFAULT_FIELD_SIZE);
+		if (checkpoint != null) {
+			LOGGER.info("Resuming from checkpoint of generation " + checkpoint.getGeneration());
+			GameField gameField = GameFieldFactory.create(Constants.DEFAULT_ENGINE_TYPE, nrOfFields, fieldSize,
+					Constants.DEFAULT_PARALLELISM);
+			gameField.copyFrom(checkpoint.getBits());
+			game = new GameImpl(createRenderTarget(), gameField, fieldSize, checkpoint.getGeneration(),
+					checkpoint.getSeed());
+		} else {
+			game = createGame(nrOfFields, fieldSize);
+		}
 	}
 
 	protected Game getGame() {
@@ -102,6 +140,18 @@ public class FieldUI extends JFrame {
 		game.generateNextGeneration();
 	}
 
+	protected void stepBack() {
+		LOGGER.info("Step back");
+		game.pause();
+		game.stepBack();
+	}
+
+	protected void rewind() {
+		LOGGER.info("Rewind");
+		game.pause();
+		game.rewind();
+	}
+
 	protected void resetGame() {
 		LOGGER.info("Reset game");
 		game.pause();
@@ -117,7 +167,7 @@ public class FieldUI extends JFrame {
 	protected void updateGenerationTimeout(long timeout) {
 		LOGGER.info("Updating generation timeout to " + timeout);
 		game.pause();
-		if (timeout > 0) {
+		if (timeout >= 0) {
 			game.setGenerationTimeout(timeout);
 		} else {
 			game.resetGenerationTimeout();
@@ -130,14 +180,15 @@ public class FieldUI extends JFrame {
 		long generationTimeout = game.getGenerationTimeout();
 		int nrOfFields = game.getNrOfFields();
 
-		int size = nrOfFields * fieldSize;
+		int size = ViewportImpl.getSize(nrOfFields, fieldSize);
 		Dimension dimension = new Dimension(size, size + Constants.INFO_FIELD_SIZE);
 		setMinimumSize(dimension);
 		setPreferredSize(dimension);
 		pack();
 		setLocationRelativeTo(null);
 
-		game = new GameImpl(panelMain, nrOfFields, fieldSize);
+		game.dispose();
+		game = createGame(nrOfFields, fieldSize);
 		game.setGenerationTimeout(generationTimeout);
 	}
 
@@ -148,70 +199,77 @@ public class FieldUI extends JFrame {
 		long generationTimeout = game.getGenerationTimeout();
 		int fieldSize = game.getFieldSize();
 
-		int size = nrOfFields * fieldSize;
+		int size = ViewportImpl.getSize(nrOfFields, fieldSize);
 		Dimension dimension = new Dimension(size, size + Constants.INFO_FIELD_SIZE);
 		setMinimumSize(dimension);
 		setPreferredSize(dimension);
 		pack();
 		setLocationRelativeTo(null);
 
-		game = new GameImpl(panelMain, nrOfFields, fieldSize);
+		game.dispose();
+		game = createGame(nrOfFields, fieldSize);
 		game.setGenerationTimeout(generationTimeout);
 	}
 
-	protected FileData importFile() {
+	/**
+	 * Lets the user choose a pattern file and imports it in the background
+	 * 
+	 * @param onImport Called on the event dispatch thread after the pattern has been set
+	 */
+	protected void importFile(Consumer<FileData> onImport) {
 		LOGGER.info("Importing pattern file");
 		game.pause();
 		JFileChooser chooser = new JFileChooser();
-		FileNameExtensionFilter filter = new FileNameExtensionFilter("JGameOfLife files", Constants.JGOL_FILE_SUFFIX);
+		FileNameExtensionFilter filter = new FileNameExtensionFilter("JGameOfLife files", Constants.JGOL_FILE_SUFFIX,
+				Constants.JGOLB_FILE_SUFFIX, Constants.RLE_FILE_SUFFIX);
 		chooser.setFileFilter(filter);
 		if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
 			String fileName = chooser.getSelectedFile().getAbsolutePath();
-			try {
-				LOGGER.info("Reading from file " + fileName);
-				return FileUtils.getInstance().readFromFile(fileName);
-			} catch (IOException e) {
-				LOGGER.error("The file " + fileName + " could not be imported", e);
-				showErrorDialog("Error importing", String.format(Locale.ENGLISH, "The file could not be imported"));
-			}
+			LOGGER.info("Reading from file " + fileName);
+			new ImportWorker(fileName, onImport).execute();
 		} else {
 			LOGGER.info("Cancelled dialog");
 		}
-
-		return null;
 	}
 
-	protected void setFile(FileData fileData) {
+	/**
+	 * Sets an imported pattern. A game field of the current size replaces the field of the
+	 * current game between two generations, else a new game is created.
+	 * 
+	 * @param fileData  The file data
+	 * @param gameField The game field decoded from the file data
+	 */
+	protected void setFile(FileData fileData, GameField gameField) {
 		LOGGER.info("Setting file data");
-		int size = fileData.getNrOfFields() * fileData.getFieldSize();
+		if (fileData.getNrOfFields() == game.getNrOfFields() && fileData.getFieldSize() == game.getFieldSize()) {
+			game.setGameField(gameField);
+			return;
+		}
+
+		setVisible(false);
+		int size = ViewportImpl.getSize(fileData.getNrOfFields(), fileData.getFieldSize());
 		Dimension dimension = new Dimension(size, size + Constants.INFO_FIELD_SIZE);
 		setMinimumSize(dimension);
 		setPreferredSize(dimension);
 		pack();
 		setLocationRelativeTo(null);
 
-		game.pause();
-		game = new GameImpl(panelMain, fileData.getNrOfFields(), fileData.getFieldSize());
-		if (!game.setValues(fileData.getValues())) {
-			LOGGER.error("The file could not be imported.");
-			showErrorDialog("Error importing", "The file could not be imported.");
-		}
+		game.dispose();
+		game = new GameImpl(createRenderTarget(), gameField, fileData.getFieldSize());
+		setVisible(true);
 	}
 
+	/**
+	 * Lets the user choose a file and exports the current generation in the background,
+	 * the format is chosen by the suffix of the file name
+	 */
 	protected void exportFile() {
 		LOGGER.info("Exporting pattern file");
-		game.pause();
 		JFileChooser chooser = new JFileChooser();
 		if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
 			String fileName = chooser.getSelectedFile().getAbsolutePath();
-			try {
-				LOGGER.info("Exporting to file " + fileName);
-				FileUtils.getInstance().writeToFile(fileName, game.getGameField().getField(), game.getNrOfFields(),
-						game.getFieldSize());
-			} catch (IOException e) {
-				LOGGER.error("The file " + fileName + " could not be exported", e);
-				showErrorDialog("Error exporting", "The file could not be exported.");
-			}
+			LOGGER.info("Exporting to file " + fileName);
+			new ExportWorker(fileName).execute();
 		}
 	}
 
@@ -219,22 +277,101 @@ public class FieldUI extends JFrame {
 		panelMain = new JPanel();
 	}
 
+	private RenderType getRenderType() {
+		String renderType = System.getProperty(Constants.RENDER_TYPE_PROPERTY, Constants.DEFAULT_RENDER_TYPE.name());
+		try {
+			return RenderType.valueOf(renderType.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			LOGGER.warn("Unknown renderer " + renderType + ", using " + Constants.DEFAULT_RENDER_TYPE);
+			return Constants.DEFAULT_RENDER_TYPE;
+		}
+	}
+
+	private GameImpl createGame(int nrOfFields, int fieldSize) {
+		return new GameImpl(createRenderTarget(), nrOfFields, fieldSize);
+	}
+
+	private RenderTarget createRenderTarget() {
+		RenderTarget renderTarget = null;
+		if (canvas != null) {
+			try {
+				renderTarget = new CanvasRenderTarget(canvas);
+			} catch (IllegalStateException | IllegalArgumentException e) {
+				LOGGER.warn("No buffer strategy available, falling back to image rendering", e);
+				panelMain.remove(canvas);
+				panelMain.revalidate();
+				canvas = null;
+				registerMouseListeners(this);
+			}
+		}
+		if (renderTarget == null) {
+			renderTarget = new PanelRenderTarget(panelMain);
+		}
+		return renderTarget;
+	}
+
+	/**
+	 * Shows the progress of a worker, the worker is cancelled if the user cancels
+	 * 
+	 * @param worker  The worker, reporting its progress in percent
+	 * @param message The message
+	 * @return the progress monitor
+	 */
+	private ProgressMonitor createProgressMonitor(SwingWorker<?, ?> worker, String message) {
+		ProgressMonitor progressMonitor = new ProgressMonitor(this, message, null, 0, 100);
+		worker.addPropertyChangeListener(e -> {
+			if ("progress".equals(e.getPropertyName())) {
+				progressMonitor.setProgress((Integer) e.getNewValue());
+				if (progressMonitor.isCanceled()) {
+					worker.cancel(false);
+				}
+			}
+		});
+		return progressMonitor;
+	}
+
 	private void showErrorDialog(String title, String msg) {
 		JOptionPane.showMessageDialog(new JFrame(), msg, title, JOptionPane.ERROR_MESSAGE);
 	}
 
-	private void registerMouseListeners() {
-		addMouseMotionListener(new MouseMotionAdapter() {
+	private void registerMouseListeners(Component component) {
+		component.addMouseMotionListener(new MouseMotionAdapter() {
 			@Override
 			public void mouseMoved(MouseEvent e) {
 				game.highlightField(e.getX(), e.getY());
 			}
+
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				if (!SwingUtilities.isLeftMouseButton(e)) {
+					game.pan(e.getX() - panX, e.getY() - panY);
+					panX = e.getX();
+					panY = e.getY();
+				}
+			}
 		});
 
-		addMouseListener(new MouseAdapter() {
+		component.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				panX = e.getX();
+				panY = e.getY();
+			}
+
 			@Override
 			public void mouseReleased(MouseEvent e) {
-				game.toggleField(e.getX(), e.getY());
+				if (SwingUtilities.isLeftMouseButton(e)) {
+					game.toggleField(e.getX(), e.getY());
+				}
+			}
+		});
+
+		// Zoom with the mouse wheel, drag with the right or middle mouse button to pan
+		component.addMouseWheelListener((MouseWheelEvent e) -> {
+			if (e.getWheelRotation() < 0) {
+				game.zoomIn(e.getX(), e.getY());
+			} else if (e.getWheelRotation() > 0) {
+				game.zoomOut(e.getX(), e.getY());
 			}
 		});
 	}
@@ -248,4 +385,107 @@ public class FieldUI extends JFrame {
 		}
 	}
 
+	/**
+	 * Reads a pattern file and decodes it into a game field of the engine type of the current game
+	 */
+	private class ImportWorker extends SwingWorker<GameField, Void> {
+
+		private final String fileName;
+		private final Consumer<FileData> onImport;
+		private final EngineType engineType;
+		private final int parallelism;
+		private final ProgressMonitor progressMonitor;
+		private FileData fileData;
+
+		ImportWorker(String fileName, Consumer<FileData> onImport) {
+			this.fileName = fileName;
+			this.onImport = onImport;
+			this.engineType = game.getEngineType();
+			this.parallelism = game.getParallelism();
+			this.progressMonitor = createProgressMonitor(this, "Importing " + fileName);
+		}
+
+		@Override
+		protected GameField doInBackground() throws Exception {
+			// Reading takes most of the time, decoding the rest
+			fileData = FileUtils.getInstance().readFromFile(fileName,
+					(done, total) -> updateProgress(done * 90 / Math.max(total, 1)));
+			GameField gameField = GameFieldFactory.create(engineType, fileData.getNrOfFields(),
+					fileData.getFieldSize(), parallelism);
+			gameField.copyFrom(fileData.getBits());
+			return gameField;
+		}
+
+		@Override
+		protected void done() {
+			progressMonitor.close();
+			if (isCancelled()) {
+				LOGGER.info("Cancelled importing " + fileName);
+				return;
+			}
+			try {
+				setFile(fileData, get());
+				onImport.accept(fileData);
+			} catch (ExecutionException e) {
+				LOGGER.error("The file " + fileName + " could not be imported", e.getCause());
+				showErrorDialog("Error importing", "The file could not be imported.");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private boolean updateProgress(long percent) {
+			setProgress((int) percent);
+			return !isCancelled();
+		}
+	}
+
+	/**
+	 * Writes a copy of the current generation, the game keeps running
+	 */
+	private class ExportWorker extends SwingWorker<Void, Void> {
+
+		private final String fileName;
+		private final Game exportedGame;
+		private final ProgressMonitor progressMonitor;
+
+		ExportWorker(String fileName) {
+			this.fileName = fileName;
+			this.exportedGame = game;
+			this.progressMonitor = createProgressMonitor(this, "Exporting " + fileName);
+		}
+
+		@Override
+		protected Void doInBackground() throws Exception {
+			long[] bits = exportedGame.copyGeneration().get();
+			String suffix = FileUtils.getSuffix(fileName);
+			String name = suffix != null ? fileName.substring(0, fileName.length() - suffix.length() - 1) : fileName;
+			FileData fileData = new FileData(Constants.JGOL_DATA_NAME, exportedGame.getNrOfFields(),
+					exportedGame.getFieldSize(), bits);
+			FileUtils.getInstance().writeToFile(name, fileData, suffix != null ? suffix : Constants.JGOL_FILE_SUFFIX,
+					(done, total) -> {
+						setProgress((int) (done * 100 / Math.max(total, 1)));
+						return !isCancelled();
+					});
+			return null;
+		}
+
+		@Override
+		protected void done() {
+			progressMonitor.close();
+			if (isCancelled()) {
+				LOGGER.info("Cancelled exporting " + fileName);
+				return;
+			}
+			try {
+				get();
+			} catch (ExecutionException e) {
+				LOGGER.error("The file " + fileName + " could not be exported", e.getCause());
+				showErrorDialog("Error exporting", "The file could not be exported.");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 }
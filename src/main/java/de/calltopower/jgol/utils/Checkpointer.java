@@ -0,0 +1,291 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.calltopower.jgol.api.Simulation;
+import lombok.Getter;
+
+/**
+ * Periodic checkpoints of a simulation.
+ * 
+ * Every number of generations or seconds the current generation is copied into a buffer and
+ * written by a background thread as compressed binary file (.jgolb) with the generation and the
+ * seed. A checkpoint is written to a temporary file which is renamed when complete, so the latest
+ * checkpoint is always readable. The last checkpoints are kept, older ones are deleted. If the
+ * previous checkpoint is still being written, the checkpoint is taken in a later generation.
+ * 
+ * Checkpoints are ordered by the sequence number in the file name, the number of the latest
+ * checkpoint in the directory plus one, not by the generation. A new run of the same name which
+ * starts over at a lower generation replaces the checkpoints of an older run.
+ */
+public class Checkpointer {
+
+    private static final Logger LOGGER = LogManager.getLogger(Checkpointer.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final String name;
+    private final long intervalNanos;
+    private final int keep;
+    private final Pattern checkpointPattern;
+    private final Pattern tempPattern;
+    private final AtomicBoolean writing;
+    private long[] buffer;
+    private long lastGeneration;
+    private long lastTime;
+    private volatile Thread writer;
+
+    @Getter
+    private final long generationInterval;
+
+    /**
+     * Constructor, configured by the system properties jgol.checkpoint.dir (no checkpoints if not set),
+     * jgol.checkpoint.generations, jgol.checkpoint.seconds and jgol.checkpoint.keep
+     * 
+     * @param name The name of the simulation, prefix of the checkpoint files
+     */
+    public Checkpointer(String name) {
+        this(System.getProperty(Constants.CHECKPOINT_DIR_PROPERTY), name,
+                Long.getLong(Constants.CHECKPOINT_GENERATIONS_PROPERTY, 0L),
+                Long.getLong(Constants.CHECKPOINT_SECONDS_PROPERTY, 0L),
+                Integer.getInteger(Constants.CHECKPOINT_KEEP_PROPERTY, Constants.DEFAULT_CHECKPOINT_KEEP));
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param directory          The directory, null for no checkpoints
+     * @param name               The name of the simulation, prefix of the checkpoint files
+     * @param generationInterval The number of generations between two checkpoints, 0 for none
+     * @param interval           The number of seconds between two checkpoints, 0 for none
+     * @param keep               The number of checkpoints to keep
+     */
+    public Checkpointer(String directory, String name, long generationInterval, long interval, int keep) {
+        this.directory = directory != null ? Paths.get(directory) : null;
+        this.name = name;
+        this.generationInterval = Math.max(generationInterval, 0);
+        this.intervalNanos = Math.max(interval, 0) * 1_000_000_000L;
+        this.keep = Math.max(keep, 1);
+        // name-sequence-generation.jgolb, checkpoints without sequence number are the oldest
+        this.checkpointPattern = Pattern.compile(Pattern.quote(name) + "-(?:(\\d{12})-)?(\\d{1,18})\\."
+                + Constants.JGOLB_FILE_SUFFIX);
+        this.tempPattern = Pattern.compile(Pattern.quote(name) + "-[\\d-]+" + Pattern.quote(TEMP_SUFFIX) + "\\."
+                + Constants.JGOLB_FILE_SUFFIX);
+        this.writing = new AtomicBoolean();
+        start(0);
+    }
+
+    /**
+     * Returns whether checkpoints are taken
+     * 
+     * @return true if a directory and an interval are set, false else
+     */
+    public boolean isEnabled() {
+        return directory != null && (generationInterval > 0 || intervalNanos > 0);
+    }
+
+    /**
+     * (Re-)starts the intervals, e.g. after a simulation has been resumed or replaced
+     * 
+     * @param generation The current generation
+     */
+    public void start(long generation) {
+        lastGeneration = generation;
+        lastTime = System.nanoTime();
+    }
+
+    /**
+     * Returns whether a checkpoint is due
+     * 
+     * @param generation The current generation
+     * @return true if a checkpoint is due, false else
+     */
+    public boolean isDue(long generation) {
+        return isEnabled() && ((generationInterval > 0 && generation - lastGeneration >= generationInterval)
+                || (intervalNanos > 0 && System.nanoTime() - lastTime >= intervalNanos));
+    }
+
+    /**
+     * Takes a checkpoint. The calling thread only copies the current generation, the file is written
+     * by a background thread.
+     * 
+     * @param simulation The simulation, not modified while it is copied
+     * @param generation The current generation
+     * @param seed       The seed of the initial generation
+     * @param fieldSize  The field size
+     * @return true if the checkpoint is written, false if the previous checkpoint is still being written
+     */
+    public boolean checkpoint(Simulation simulation, long generation, long seed, int fieldSize) {
+        if (!writing.compareAndSet(false, true)) {
+            return false;
+        }
+        int nrOfFields = simulation.getNrOfFields();
+        int size = nrOfFields * FileData.getWordsPerRow(nrOfFields);
+        if (buffer == null || buffer.length != size) {
+            buffer = new long[size];
+        }
+        simulation.copyTo(buffer);
+        start(generation);
+
+        FileData fileData = new FileData(name, nrOfFields, fieldSize, buffer, generation, seed);
+        Thread thread = new Thread(() -> write(fileData), "jgol-checkpoint");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Waits until the checkpoint being written is complete
+     */
+    public void awaitCheckpoint() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the latest readable checkpoint
+     * 
+     * @return FileData with the packed bits, the generation and the seed, null if there is none
+     */
+    public FileData getLatest() {
+        if (directory == null) {
+            return null;
+        }
+        try {
+            for (Path checkpoint : listCheckpoints()) {
+                try {
+                    return FileUtils.getInstance().readFromFile(checkpoint.toString());
+                } catch (IOException e) {
+                    LOGGER.error("Checkpoint " + checkpoint + " could not be read: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Checkpoints could not be listed: " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    private void write(FileData fileData) {
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            List<Path> checkpoints = listCheckpoints();
+            long sequence = checkpoints.isEmpty() ? 1 : getSequence(checkpoints.get(0)) + 1;
+            String baseName = String.format(Locale.ROOT, "%s-%012d-%012d", name, sequence, fileData.getGeneration());
+            temp = directory.resolve(baseName + TEMP_SUFFIX + "." + Constants.JGOLB_FILE_SUFFIX);
+            Path file = directory.resolve(baseName + "." + Constants.JGOLB_FILE_SUFFIX);
+            FileUtils.getInstance().writeToBinaryFile(directory.resolve(baseName + TEMP_SUFFIX).toString(), fileData,
+                    true);
+            // The data has to be on disk before the rename is
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info("Checkpoint of generation " + fileData.getGeneration() + " written to " + file);
+            deleteOldCheckpoints();
+        } catch (IOException e) {
+            LOGGER.error("Checkpoint could not be written: " + e.getMessage());
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException e1) {
+                LOGGER.error("Temporary file " + temp + " could not be deleted: " + e1.getMessage());
+            }
+        } finally {
+            writing.set(false);
+        }
+    }
+
+    /**
+     * Deletes all but the latest checkpoints and temporary files of interrupted checkpoints
+     * 
+     * @throws IOException
+     */
+    private void deleteOldCheckpoints() throws IOException {
+        List<Path> checkpoints = listCheckpoints();
+        for (int i = keep; i < checkpoints.size(); ++i) {
+            Files.deleteIfExists(checkpoints.get(i));
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                if (tempPattern.matcher(path.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the checkpoints
+     * 
+     * @return the checkpoints, the latest written first
+     * @throws IOException
+     */
+    private List<Path> listCheckpoints() throws IOException {
+        List<Path> checkpoints = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return checkpoints;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                if (checkpointPattern.matcher(path.getFileName().toString()).matches()) {
+                    checkpoints.add(path);
+                }
+            }
+        }
+        checkpoints.sort((a, b) -> getSequence(a) != getSequence(b) ? Long.compare(getSequence(b), getSequence(a))
+                : Long.compare(getGeneration(b), getGeneration(a)));
+
+        return checkpoints;
+    }
+
+    /**
+     * Returns the sequence number of a checkpoint
+     * 
+     * @param checkpoint The checkpoint
+     * @return the sequence number, 0 for checkpoints without sequence number
+     */
+    private long getSequence(Path checkpoint) {
+        Matcher matcher = checkpointPattern.matcher(checkpoint.getFileName().toString());
+        return matcher.matches() && matcher.group(1) != null ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private long getGeneration(Path checkpoint) {
+        Matcher matcher = checkpointPattern.matcher(checkpoint.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(2)) : -1;
+    }
+
+}
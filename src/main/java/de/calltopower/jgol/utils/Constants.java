@@ -6,6 +6,10 @@
 
 package de.calltopower.jgol.utils;
 
+import de.calltopower.jgol.enums.CycleAction;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.enums.RenderType;
+
 /**
  * Some constants
  */
@@ -18,6 +22,14 @@ public final class Constants {
     public static final String JGOL_DATA_NAME = "jgol";
     public static final String JGOL_FILE_SUFFIX = "jgol";
     public static final String JGOL_DATA_SEPARATOR = ";";
+    public static final String JGOLB_FILE_SUFFIX = "jgolb";
+    public static final int JGOLB_MAGIC = 0x424C474A; // "JGLB" in little endian byte order
+    public static final int JGOLB_VERSION = 2;
+    public static final int JGOLB_HEADER_SIZE_V1 = 32; // Bytes
+    public static final int JGOLB_HEADER_SIZE = 48; // Bytes
+    public static final int JGOLB_FLAG_COMPRESSED = 1;
+    public static final int JGOLB_ROWS_PER_BLOCK = 64;
+    public static final String RLE_FILE_SUFFIX = "rle";
 
     public static final int INFO_FIELD_SIZE = 40;
     public static final int DEFAULT_NR_OF_FIELDS = 60;
@@ -25,10 +37,40 @@ public final class Constants {
     public static final long DEFAULT_GENERATION_TIMEOUT = 100;
 
     public static final int GAME_MIN_NR_OF_FIELDS = 5;
-    public static final int GAME_MAX_NR_OF_FIELDS = 500;
+    public static final int GAME_MAX_NR_OF_FIELDS = 16384;
     public static final int GAME_MIN_FIELD_SIZE = 2;
     public static final int GAME_MAX_FIELD_SIZE = 100;
+    public static final int GAME_MIN_GENERATION_LENGTH = 0; // 0: as fast as possible
     public static final int GAME_MAX_GENERATION_LENGTH = 1000;
+    public static final int FRAME_RATE = 60;
+    public static final int VIEWPORT_MAX_SIZE = 800; // Pixel
+    public static final String RENDER_TYPE_PROPERTY = "jgol.renderer";
+    public static final RenderType DEFAULT_RENDER_TYPE = RenderType.IMAGE;
+    public static final int CANVAS_NR_OF_BUFFERS = 2;
+    public static final long RATE_INTERVAL_NANOS = 1_000_000_000L;
+    public static final String METRICS_OBJECT_NAME = "de.calltopower.jgol:type=GameMetrics";
+    public static final String METRICS_LOG_PERIOD_PROPERTY = "jgol.metrics.log"; // Seconds
+    public static final String CHECKPOINT_DIR_PROPERTY = "jgol.checkpoint.dir";
+    public static final String CHECKPOINT_GENERATIONS_PROPERTY = "jgol.checkpoint.generations";
+    public static final String CHECKPOINT_SECONDS_PROPERTY = "jgol.checkpoint.seconds";
+    public static final String CHECKPOINT_KEEP_PROPERTY = "jgol.checkpoint.keep";
+    public static final int DEFAULT_CHECKPOINT_KEEP = 3;
+    public static final String HISTORY_PROPERTY = "jgol.history";
+    public static final long HISTORY_MAX_BYTES = 64L * 1024 * 1024;
+    public static final int HISTORY_MAX_GENERATIONS = 65_536;
+    public static final int HISTORY_KEYFRAME_INTERVAL = 32;
+    public static final String CYCLE_ACTION_PROPERTY = "jgol.cycle";
+    public static final CycleAction DEFAULT_CYCLE_ACTION = CycleAction.NONE;
+    public static final int CYCLE_MAX_PERIOD = 1024; // Generations
+
+    public static final EngineType DEFAULT_ENGINE_TYPE = EngineType.SWAR;
+    public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    public static final int PARALLEL_STRIPES_PER_THREAD = 4;
+    public static final int PARALLEL_MIN_STRIPE_HEIGHT = 16;
+    public static final int TILE_HEIGHT = 64;
+    public static final int PYRAMID_BLOCK_SIZE = 16; // Cells, edge of the blocks of the lowest population pyramid level
+    public static final int HASHLIFE_MAX_NODES = 4_000_000;
+    public static final long HASHLIFE_MAX_CHECKPOINT_STEP = 1024; // Generations
 
     private Constants() {
         // Nothing to see here...
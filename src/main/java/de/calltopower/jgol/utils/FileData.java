@@ -10,7 +10,10 @@ import de.calltopower.jgol.enums.FieldValue;
 import lombok.Getter;
 
 /**
- * File data construct
+ * File data construct.
+ * 
+ * The field values are kept either as values or as packed bits (the layout of Simulation.copyTo),
+ * the other representation is created on first access.
  */
 @Getter
 public class FileData {
@@ -19,6 +22,9 @@ public class FileData {
     private int nrOfFields;
     private int fieldSize;
     private FieldValue[][] values;
+    private long[] bits;
+    private long generation;
+    private long seed;
 
     public FileData(String name, int nrOfFields, int fieldSize, FieldValue[][] values) {
         this.name = name;
@@ -27,6 +33,78 @@ public class FileData {
         this.values = values;
     }
 
+    public FileData(String name, int nrOfFields, int fieldSize, long[] bits) {
+        this(name, nrOfFields, fieldSize, bits, 0, 0);
+    }
+
+    /**
+     * Constructor for checkpoints
+     * 
+     * @param name       The name
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     * @param bits       The packed bits
+     * @param generation The generation of the field values
+     * @param seed       The seed of the random number generator of the initial generation
+     */
+    public FileData(String name, int nrOfFields, int fieldSize, long[] bits, long generation, long seed) {
+        this.name = name;
+        this.nrOfFields = nrOfFields;
+        this.fieldSize = fieldSize;
+        this.bits = bits;
+        this.generation = generation;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the number of words per row of the packed bits
+     * 
+     * @param nrOfFields The number of fields
+     * @return the number of words per row
+     */
+    public static int getWordsPerRow(int nrOfFields) {
+        return (nrOfFields + 63) >>> 6;
+    }
+
+    /**
+     * Returns the field values
+     * 
+     * @return the field values
+     */
+    public FieldValue[][] getValues() {
+        if (values == null) {
+            int wordsPerRow = getWordsPerRow(nrOfFields);
+            values = new FieldValue[nrOfFields][nrOfFields];
+            for (int i = 0; i < nrOfFields; ++i) {
+                for (int j = 0; j < nrOfFields; ++j) {
+                    values[i][j] = ((bits[i * wordsPerRow + (j >>> 6)] >>> (j & 63)) & 1L) != 0 ? FieldValue.ACTIVE
+                            : FieldValue.INACTIVE;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the field values as packed bits, every row occupies (nrOfFields + 63) / 64 words
+     * 
+     * @return the packed bits
+     */
+    public long[] getBits() {
+        if (bits == null) {
+            int wordsPerRow = getWordsPerRow(nrOfFields);
+            bits = new long[nrOfFields * wordsPerRow];
+            for (int i = 0; i < nrOfFields && i < values.length; ++i) {
+                for (int j = 0; j < nrOfFields && j < values[i].length; ++j) {
+                    if (values[i][j] == FieldValue.ACTIVE) {
+                        bits[i * wordsPerRow + (j >>> 6)] |= 1L << (j & 63);
+                    }
+                }
+            }
+        }
+        return bits;
+    }
+
     @Override
     public String toString() {
         return String.format("FileData[Name=%s, NrOfFields=%d, Size=%d]", name, nrOfFields, fieldSize);
@@ -6,20 +6,39 @@
 
 package de.calltopower.jgol.utils;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
-import de.calltopower.jgol.api.Field;
-import de.calltopower.jgol.enums.FieldValue;
+import de.calltopower.jgol.api.IOProgress;
 
 /**
  * Some file utils.
  * Singleton.
+ * 
+ * Binary files (.jgolb) are little endian: a header of JGOLB_HEADER_SIZE bytes (magic, version,
+ * flags, number of fields, field size, rows per block, words per row, reserved, since version 2
+ * followed by the generation and the seed as longs) followed by the packed rows, every row
+ * occupies (nrOfFields + 63) / 64 words. If compressed, every block of rows is deflated
+ * separately and stored as its length followed by the deflated bytes.
  */
 public final class FileUtils {
 
@@ -42,89 +61,381 @@ public final class FileUtils {
     }
 
     /**
-     * Reads field from file
+     * Returns the suffix of a file name if it is a supported file format
+     * 
+     * @param fileName The file name
+     * @return the suffix (JGOL_FILE_SUFFIX, JGOLB_FILE_SUFFIX or RLE_FILE_SUFFIX), null if unknown
+     */
+    public static String getSuffix(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        for (String suffix : new String[] { Constants.JGOL_FILE_SUFFIX, Constants.JGOLB_FILE_SUFFIX,
+                Constants.RLE_FILE_SUFFIX }) {
+            if (name.endsWith("." + suffix)) {
+                return suffix;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads field from file, binary and RLE files are detected by their suffix.
+     * Text and RLE files are read line by line into packed bits.
      * 
      * @param fileName The file name
      * @return FileData
      * @throws IOException
      */
     public FileData readFromFile(String fileName) throws IOException {
+        return readFromFile(fileName, IOProgress.NONE);
+    }
+
+    /**
+     * Reads field from file, see readFromFile(String)
+     * 
+     * @param fileName The file name
+     * @param progress The progress callback, called with the number of rows read
+     * @return FileData
+     * @throws InterruptedIOException if cancelled by the progress callback
+     * @throws IOException
+     */
+    public FileData readFromFile(String fileName, IOProgress progress) throws IOException {
         Path file = Paths.get(fileName);
-        List<String> allLines = Files.readAllLines(file, Charset.forName("UTF-8"));
-        List<String> lines = new ArrayList<>();
-
-        String parsedName = "";
-        int parsedNrOfFields = -1;
-        int parsedFieldSize = -1;
-        for (int i = 0; i < allLines.size(); ++i) {
-            if (i == 0) {
-                String[] valSplit = allLines.get(i).split(Constants.JGOL_DATA_SEPARATOR);
-                if (valSplit.length != 3) {
-                    throw new IOException("Could not parse input file: Header data unknown");
-                }
-                parsedName = valSplit[0];
-                parsedNrOfFields = Integer.parseInt(valSplit[1]);
-                parsedFieldSize = Integer.parseInt(valSplit[2]);
-                if (!parsedName.equals(Constants.JGOL_DATA_NAME)) {
-                    throw new IOException("Could not parse input file: Header data unknown (name)");
+        String suffix = getSuffix(fileName);
+        if (Constants.JGOLB_FILE_SUFFIX.equals(suffix)) {
+            return readFromBinaryFile(file, progress);
+        }
+        if (Constants.RLE_FILE_SUFFIX.equals(suffix)) {
+            try (Reader reader = Channels.newReader(FileChannel.open(file, StandardOpenOption.READ),
+                    StandardCharsets.UTF_8)) {
+                return new RleReader(reader, progress).read();
+            }
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IOException("Could not parse input file: Header data corrupt");
+            }
+            String[] valSplit = headerLine.split(Constants.JGOL_DATA_SEPARATOR);
+            if (valSplit.length != 3) {
+                throw new IOException("Could not parse input file: Header data unknown");
+            }
+            String parsedName = valSplit[0];
+            int parsedNrOfFields = Integer.parseInt(valSplit[1]);
+            int parsedFieldSize = Integer.parseInt(valSplit[2]);
+            if (!parsedName.equals(Constants.JGOL_DATA_NAME)) {
+                throw new IOException("Could not parse input file: Header data unknown (name)");
+            }
+
+            if (parsedName.equals("") || parsedNrOfFields < 0) {
+                throw new IOException("Could not parse input file: Header data corrupt");
+            }
+
+            if (parsedFieldSize < Constants.GAME_MIN_FIELD_SIZE) {
+                throw new IOException(String.format("Field size must be >= %d", Constants.GAME_MIN_FIELD_SIZE));
+            }
+
+            int size = parsedNrOfFields;
+            int wordsPerRow = FileData.getWordsPerRow(size);
+            long[] bits = new long[size * wordsPerRow];
+            String line;
+            for (int i = 0; i < size && (line = reader.readLine()) != null; ++i) {
+                int length = Math.min(line.length(), size);
+                for (int j = 0; j < length; ++j) {
+                    if (line.charAt(j) == 'O') {
+                        bits[i * wordsPerRow + (j >>> 6)] |= 1L << (j & 63);
+                    }
                 }
+                updateProgress(progress, i + 1L, size);
+            }
+
+            return new FileData(parsedName, parsedNrOfFields, parsedFieldSize, bits);
+        }
+    }
+
+    /**
+     * Writes file data to file
+     * 
+     * @param fileName The file name
+     * @param fileData The file data
+     * @throws IOException
+     */
+    public void writeToFile(String fileName, FileData fileData) throws IOException {
+        writeToTextFile(fileName, fileData, IOProgress.NONE);
+    }
+
+    /**
+     * Writes file data to file in a format, binary files are compressed
+     * 
+     * @param fileName The file name (without suffix)
+     * @param fileData The file data
+     * @param suffix   The suffix of the format, see getSuffix
+     * @throws IOException
+     */
+    public void writeToFile(String fileName, FileData fileData, String suffix) throws IOException {
+        writeToFile(fileName, fileData, suffix, IOProgress.NONE);
+    }
+
+    /**
+     * Writes file data to file in a format, binary files are compressed.
+     * A file that has been cancelled by the progress callback is deleted.
+     * 
+     * @param fileName The file name (without suffix)
+     * @param fileData The file data
+     * @param suffix   The suffix of the format, see getSuffix
+     * @param progress The progress callback, called with the number of rows written
+     * @throws InterruptedIOException if cancelled by the progress callback
+     * @throws IOException
+     */
+    public void writeToFile(String fileName, FileData fileData, String suffix, IOProgress progress)
+            throws IOException {
+        try {
+            if (Constants.JGOLB_FILE_SUFFIX.equals(suffix)) {
+                writeToBinaryFile(fileName, fileData, true, progress);
+            } else if (Constants.RLE_FILE_SUFFIX.equals(suffix)) {
+                writeToRleFile(fileName, fileData, progress);
             } else {
-                lines.add(allLines.get(i));
+                writeToTextFile(fileName, fileData, progress);
             }
+        } catch (InterruptedIOException e) {
+            Files.deleteIfExists(Paths.get(fileName + "." + (suffix != null ? suffix : Constants.JGOL_FILE_SUFFIX)));
+            throw e;
+        }
+    }
+
+    /**
+     * Writes file data to an RLE file
+     * 
+     * @param fileName The file name
+     * @param fileData The file data
+     * @throws IOException
+     */
+    public void writeToRleFile(String fileName, FileData fileData) throws IOException {
+        writeToRleFile(fileName, fileData, IOProgress.NONE);
+    }
+
+    /**
+     * Writes file data to a binary file
+     * 
+     * @param fileName   The file name
+     * @param fileData   The file data
+     * @param compressed Boolean flag whether to deflate the blocks of rows
+     * @throws IOException
+     */
+    public void writeToBinaryFile(String fileName, FileData fileData, boolean compressed) throws IOException {
+        writeToBinaryFile(fileName, fileData, compressed, IOProgress.NONE);
+    }
+
+    /**
+     * Reports progress to a progress callback
+     * 
+     * @param progress The progress callback
+     * @param done     The amount of work done
+     * @param total    The total amount of work
+     * @throws InterruptedIOException if cancelled by the progress callback
+     */
+    static void updateProgress(IOProgress progress, long done, long total) throws InterruptedIOException {
+        if (!progress.update(done, total)) {
+            throw new InterruptedIOException("Cancelled");
         }
+    }
 
-        if (parsedName.equals("") || parsedNrOfFields < 0) {
-            throw new IOException("Could not parse input file: Header data corrupt");
+    private void writeToTextFile(String fileName, FileData fileData, IOProgress progress) throws IOException {
+        int nrOfFields = fileData.getNrOfFields();
+        int wordsPerRow = FileData.getWordsPerRow(nrOfFields);
+        long[] bits = fileData.getBits();
+        Path file = Paths.get(fileName + "." + Constants.JGOL_FILE_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(getHeaderLine(nrOfFields, fileData.getFieldSize()));
+            writer.newLine();
+            char[] line = new char[nrOfFields];
+            for (int i = 0; i < nrOfFields; ++i) {
+                for (int j = 0; j < nrOfFields; ++j) {
+                    line[j] = ((bits[i * wordsPerRow + (j >>> 6)] >>> (j & 63)) & 1L) != 0 ? 'O' : 'X';
+                }
+                writer.write(line);
+                writer.newLine();
+                updateProgress(progress, i + 1L, nrOfFields);
+            }
         }
+    }
 
-        if (parsedFieldSize < Constants.GAME_MIN_FIELD_SIZE) {
-            throw new IOException(String.format("Field size must be >= %d", Constants.GAME_MIN_FIELD_SIZE));
+    private void writeToRleFile(String fileName, FileData fileData, IOProgress progress) throws IOException {
+        Path file = Paths.get(fileName + "." + Constants.RLE_FILE_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new RleWriter(writer, progress).write(fileData);
         }
+    }
 
-        int size = parsedNrOfFields; // / parsedFieldSize;
-        FieldValue[][] values = new FieldValue[size][size];
-        for (int i = 0; i < lines.size(); ++i) {
-            String[] valSplit = lines.get(i).split("");
-            for (int j = 0; j < valSplit.length; ++j) {
-                values[i][j] = valSplit[j].equals("O") ? FieldValue.ACTIVE : FieldValue.INACTIVE;
+    private void writeToBinaryFile(String fileName, FileData fileData, boolean compressed, IOProgress progress)
+            throws IOException {
+        int nrOfFields = fileData.getNrOfFields();
+        int wordsPerRow = FileData.getWordsPerRow(nrOfFields);
+        long[] bits = fileData.getBits();
+
+        ByteBuffer header = ByteBuffer.allocate(Constants.JGOLB_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(Constants.JGOLB_MAGIC)
+                .putInt(Constants.JGOLB_VERSION)
+                .putInt(compressed ? Constants.JGOLB_FLAG_COMPRESSED : 0)
+                .putInt(nrOfFields)
+                .putInt(fileData.getFieldSize())
+                .putInt(Constants.JGOLB_ROWS_PER_BLOCK)
+                .putInt(wordsPerRow)
+                .putInt(0)
+                .putLong(fileData.getGeneration())
+                .putLong(fileData.getSeed());
+        header.flip();
+
+        Path file = Paths.get(fileName + "." + Constants.JGOLB_FILE_SUFFIX);
+        int blockSize = Constants.JGOLB_ROWS_PER_BLOCK * wordsPerRow * Long.BYTES;
+        ByteBuffer block = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer deflated = ByteBuffer.allocate(Integer.BYTES + blockSize + blockSize / 8 + 64)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (int row = 0; row < nrOfFields; row += Constants.JGOLB_ROWS_PER_BLOCK) {
+                int words = Math.min(Constants.JGOLB_ROWS_PER_BLOCK, nrOfFields - row) * wordsPerRow;
+                block.clear();
+                block.asLongBuffer().put(bits, row * wordsPerRow, words);
+                block.limit(words * Long.BYTES);
+                if (!compressed) {
+                    writeFully(channel, block);
+                    updateProgress(progress, row + (long) words / wordsPerRow, nrOfFields);
+                    continue;
+                }
+                deflater.reset();
+                deflater.setInput(block);
+                deflater.finish();
+                deflated.clear();
+                deflated.position(Integer.BYTES);
+                while (!deflater.finished()) {
+                    if (!deflated.hasRemaining()) {
+                        deflated.flip();
+                        deflated = ByteBuffer.allocate(deflated.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN)
+                                .put(deflated);
+                    }
+                    deflater.deflate(deflated);
+                }
+                deflated.putInt(0, deflated.position() - Integer.BYTES);
+                deflated.flip();
+                writeFully(channel, deflated);
+                updateProgress(progress, row + (long) words / wordsPerRow, nrOfFields);
             }
+        } finally {
+            deflater.end();
         }
- 
-        return new FileData(parsedName, parsedNrOfFields, parsedFieldSize, values);
     }
 
     /**
-     * Writes to file
+     * Reads a binary file, the file is mapped into memory and the rows are copied into packed bits
      * 
-     * @param fileName The file name
-     * @param field The field
-     * @param nrOfFields The number of fields
-     * @param fieldSize The field size
+     * @param file     The file
+     * @param progress The progress callback
+     * @return FileData with packed bits
      * @throws IOException
      */
-    public void writeToFile(String fileName,
-                            Field[][] field,
-                            int nrOfFields,
-                            int fieldSize) throws IOException {
-        List<String> lines = new ArrayList<>();
+    private FileData readFromBinaryFile(Path file, IOProgress progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < Constants.JGOLB_HEADER_SIZE_V1) {
+                throw new IOException("Could not parse input file: Header data corrupt");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != Constants.JGOLB_MAGIC) {
+                throw new IOException("Could not parse input file: Header data unknown (name)");
+            }
+            int version = buffer.getInt();
+            if (version < 1 || version > Constants.JGOLB_VERSION) {
+                throw new IOException(String.format("Could not parse input file: Version %d not supported", version));
+            }
+            int flags = buffer.getInt();
+            int nrOfFields = buffer.getInt();
+            int fieldSize = buffer.getInt();
+            int rowsPerBlock = buffer.getInt();
+            int wordsPerRow = buffer.getInt();
+            buffer.getInt(); // Reserved
+            int headerSize = version == 1 ? Constants.JGOLB_HEADER_SIZE_V1 : Constants.JGOLB_HEADER_SIZE;
+            long generation = version == 1 ? 0 : buffer.getLong();
+            long seed = version == 1 ? 0 : buffer.getLong();
+            if (nrOfFields < 0 || rowsPerBlock <= 0 || wordsPerRow != FileData.getWordsPerRow(nrOfFields)
+                    || generation < 0 || (long) nrOfFields * wordsPerRow > Integer.MAX_VALUE / Long.BYTES) {
+                throw new IOException("Could not parse input file: Header data corrupt");
+            }
+            if (fieldSize < Constants.GAME_MIN_FIELD_SIZE) {
+                throw new IOException(String.format("Field size must be >= %d", Constants.GAME_MIN_FIELD_SIZE));
+            }
 
+            long[] bits = new long[nrOfFields * wordsPerRow];
+            buffer.position(headerSize);
+            if ((flags & Constants.JGOLB_FLAG_COMPRESSED) == 0) {
+                LongBuffer longs = buffer.asLongBuffer();
+                for (int row = 0; row < nrOfFields; row += rowsPerBlock) {
+                    int rows = Math.min(rowsPerBlock, nrOfFields - row);
+                    longs.get(bits, row * wordsPerRow, rows * wordsPerRow);
+                    updateProgress(progress, row + (long) rows, nrOfFields);
+                }
+            } else {
+                inflate(buffer, bits, nrOfFields, wordsPerRow, rowsPerBlock, progress);
+            }
+            long lastWordMask = (nrOfFields & 63) == 0 ? -1L : (1L << (nrOfFields & 63)) - 1;
+            for (int i = 0; i < nrOfFields; ++i) {
+                bits[i * wordsPerRow + wordsPerRow - 1] &= lastWordMask;
+            }
+
+            return new FileData(Constants.JGOL_DATA_NAME, nrOfFields, fieldSize, bits, generation, seed);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Could not parse input file: Data truncated", e);
+        }
+    }
+
+    private void inflate(ByteBuffer buffer, long[] bits, int nrOfFields, int wordsPerRow, int rowsPerBlock,
+            IOProgress progress) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(rowsPerBlock * wordsPerRow * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        Inflater inflater = new Inflater();
+        try {
+            for (int row = 0; row < nrOfFields; row += rowsPerBlock) {
+                int words = Math.min(rowsPerBlock, nrOfFields - row) * wordsPerRow;
+                int length = buffer.getInt();
+                ByteBuffer input = buffer.slice().limit(length);
+                buffer.position(buffer.position() + length);
+                inflater.reset();
+                inflater.setInput(input);
+                block.clear();
+                block.limit(words * Long.BYTES);
+                while (block.hasRemaining()) {
+                    if (inflater.inflate(block) == 0 && (inflater.finished() || inflater.needsInput())) {
+                        throw new IOException("Could not parse input file: Data truncated");
+                    }
+                }
+                block.flip();
+                block.asLongBuffer().get(bits, row * wordsPerRow, words);
+                updateProgress(progress, row + (long) words / wordsPerRow, nrOfFields);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Could not parse input file: Data corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private String getHeaderLine(int nrOfFields, int fieldSize) {
         StringBuilder sbFirstLine = new StringBuilder("");
         sbFirstLine.append(Constants.JGOL_DATA_NAME)
                     .append(Constants.JGOL_DATA_SEPARATOR)
                     .append(nrOfFields)
                     .append(Constants.JGOL_DATA_SEPARATOR)
                     .append(fieldSize);
-        lines.add(sbFirstLine.toString());
-
-        for (Field[] aField : field) {
-            StringBuilder sb = new StringBuilder("");
-            for (int j = 0; j < field[0].length; ++j) {
-                sb.append(aField[j].getValue() == FieldValue.ACTIVE ? "O" : "X");
-            }
-            lines.add(sb.toString());
-        }
-        Path file = Paths.get(fileName + "." + Constants.JGOL_FILE_SUFFIX);
-        Files.write(file, lines, Charset.forName("UTF-8"));
+        return sbFirstLine.toString();
     }
 
 }
@@ -0,0 +1,145 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Histogram of durations in nanoseconds.
+ * 
+ * Values are counted in logarithmic buckets, every power of two is divided into
+ * SUB_BUCKETS linear buckets, so percentiles are exact to 1 / SUB_BUCKETS.
+ * Recording is constant time and does not allocate.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long min;
+    private long max;
+
+    /**
+     * Constructor
+     */
+    public Histogram() {
+        counts = new long[(Long.SIZE + 1) * SUB_BUCKETS];
+        reset();
+    }
+
+    /**
+     * Records a value
+     * 
+     * @param value The value in nanoseconds, negative values are recorded as 0
+     */
+    public synchronized void record(long value) {
+        long v = Math.max(value, 0);
+        ++counts[bucket(v)];
+        ++count;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * Removes all values
+     */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Returns the number of recorded values
+     * 
+     * @return the number of recorded values
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean value
+     * 
+     * @return the mean value, 0 if no values have been recorded
+     */
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the minimum value
+     * 
+     * @return the minimum value, 0 if no values have been recorded
+     */
+    public synchronized long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the maximum value
+     * 
+     * @return the maximum value
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the value below which a percentage of the recorded values fall
+     * 
+     * @param percentile The percentile in [0, 100]
+     * @return the upper bound of the bucket of the percentile, 0 if no values have been recorded
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ENGLISH, "n=%d, mean=%.3f ms, p50=%.3f ms, p90=%.3f ms, p99=%.3f ms, max=%.3f ms",
+                count, getMean() / 1e6, getPercentile(50) / 1e6, getPercentile(90) / 1e6, getPercentile(99) / 1e6,
+                max / 1e6);
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> (exponent - 1)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS;
+        long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - 1)) - 1;
+    }
+
+}
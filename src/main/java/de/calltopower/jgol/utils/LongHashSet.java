@@ -0,0 +1,204 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import java.util.Arrays;
+
+/**
+ * Hash set of primitive long keys (open addressing, linear probing), no boxing
+ */
+public final class LongHashSet {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsFree;
+
+    /**
+     * Constructor
+     * 
+     * @param expectedSize The expected number of keys
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+    }
+
+    /**
+     * Returns the number of keys
+     * 
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the set contains the key
+     * 
+     * @param key The key
+     * @return true if the set contains the key, false else
+     */
+    public boolean contains(long key) {
+        if (key == FREE) {
+            return containsFree;
+        }
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == FREE) {
+                return false;
+            }
+            if (k == key) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds the key
+     * 
+     * @param key The key
+     * @return true if the key was added, false if it was already contained
+     */
+    public boolean add(long key) {
+        if (key == FREE) {
+            if (containsFree) {
+                return false;
+            }
+            containsFree = true;
+            ++size;
+            return true;
+        }
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == FREE) {
+                keys[i] = key;
+                if (++size > (mask >>> 1)) {
+                    rehash(keys.length << 1);
+                }
+                return true;
+            }
+            if (k == key) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes the key
+     * 
+     * @param key The key
+     * @return true if the key was removed, false if it was not contained
+     */
+    public boolean remove(long key) {
+        if (key == FREE) {
+            if (!containsFree) {
+                return false;
+            }
+            containsFree = false;
+            --size;
+            return true;
+        }
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == FREE) {
+                return false;
+            }
+            if (k == key) {
+                shiftBack(i);
+                --size;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes all keys
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        containsFree = false;
+    }
+
+    /**
+     * Calls the consumer for every key
+     * 
+     * @param consumer The consumer
+     */
+    public void forEach(LongConsumer consumer) {
+        if (containsFree) {
+            consumer.accept(FREE);
+        }
+        for (long key : keys) {
+            if (key != FREE) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Consumer of primitive long keys
+     */
+    @FunctionalInterface
+    public interface LongConsumer {
+
+        /**
+         * Consumes a key
+         * 
+         * @param key The key
+         */
+        void accept(long key);
+
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void shiftBack(int free) {
+        // Backward shift deletion keeps all probe sequences intact
+        int i = free;
+        while (true) {
+            i = (i + 1) & mask;
+            long k = keys[i];
+            if (k == FREE) {
+                keys[free] = FREE;
+                return;
+            }
+            int home = slot(k);
+            if (((i - home) & mask) >= ((i - free) & mask)) {
+                keys[free] = k;
+                free = i;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        allocate(capacity);
+        for (long key : oldKeys) {
+            if (key != FREE) {
+                for (int i = slot(key);; i = (i + 1) & mask) {
+                    if (keys[i] == FREE) {
+                        keys[i] = key;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+}
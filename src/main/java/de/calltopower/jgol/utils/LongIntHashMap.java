@@ -0,0 +1,168 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import java.util.Arrays;
+
+/**
+ * Hash map of primitive long keys to int values (open addressing, linear probing), no boxing
+ */
+public final class LongIntHashMap {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean containsFree;
+    private int freeValue;
+
+    /**
+     * Constructor
+     * 
+     * @param expectedSize The expected number of keys
+     */
+    public LongIntHashMap(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+    }
+
+    /**
+     * Returns the number of keys
+     * 
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value of the key
+     * 
+     * @param key The key
+     * @return the value of the key, 0 if the map does not contain the key
+     */
+    public int get(long key) {
+        if (key == FREE) {
+            return containsFree ? freeValue : 0;
+        }
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == FREE) {
+                return 0;
+            }
+            if (k == key) {
+                return values[i];
+            }
+        }
+    }
+
+    /**
+     * Adds a delta to the value of the key, missing keys start with 0
+     * 
+     * @param key   The key
+     * @param delta The delta
+     */
+    public void add(long key, int delta) {
+        if (key == FREE) {
+            if (!containsFree) {
+                containsFree = true;
+                freeValue = 0;
+                ++size;
+            }
+            freeValue += delta;
+            return;
+        }
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == FREE) {
+                keys[i] = key;
+                values[i] = delta;
+                if (++size > (mask >>> 1)) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            if (k == key) {
+                values[i] += delta;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes all keys
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        containsFree = false;
+    }
+
+    /**
+     * Calls the consumer for every key and its value
+     * 
+     * @param consumer The consumer
+     */
+    public void forEach(LongIntConsumer consumer) {
+        if (containsFree) {
+            consumer.accept(FREE, freeValue);
+        }
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i] != FREE) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Consumer of primitive long keys and int values
+     */
+    @FunctionalInterface
+    public interface LongIntConsumer {
+
+        /**
+         * Consumes a key and its value
+         * 
+         * @param key   The key
+         * @param value The value
+         */
+        void accept(long key, int value);
+
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; ++j) {
+            long key = oldKeys[j];
+            if (key != FREE) {
+                for (int i = slot(key);; i = (i + 1) & mask) {
+                    if (keys[i] == FREE) {
+                        keys[i] = key;
+                        values[i] = oldValues[j];
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+import de.calltopower.jgol.api.IOProgress;
+
+/**
+ * Streaming reader for run length encoded (RLE) patterns.
+ * 
+ * The input is read in chunks, runs of alive cells are set directly in packed bits, only the
+ * board and one chunk are kept in memory. Comment lines (#) are skipped, the header
+ * "x = m, y = n, rule = B3/S23" defines the pattern size. Cells outside of the board are ignored.
+ */
+public class RleReader {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Reader reader;
+    private final IOProgress progress;
+    private final char[] chunk;
+    private int chunkLength;
+    private int chunkPosition;
+
+    /**
+     * Constructor
+     * 
+     * @param reader The reader, not closed by the RLE reader
+     */
+    public RleReader(Reader reader) {
+        this(reader, IOProgress.NONE);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param reader   The reader, not closed by the RLE reader
+     * @param progress The progress callback, called with the number of rows read
+     */
+    public RleReader(Reader reader, IOProgress progress) {
+        this.reader = reader;
+        this.progress = progress;
+        this.chunk = new char[CHUNK_SIZE];
+    }
+
+    /**
+     * Reads a pattern
+     * 
+     * @return FileData with packed bits, the number of fields is the larger side of the pattern
+     * @throws IOException An InterruptedIOException if cancelled by the progress callback
+     */
+    public FileData read() throws IOException {
+        String header = readHeader();
+        int width = -1;
+        int height = -1;
+        for (String entry : header.split(",")) {
+            String[] keyValue = entry.split("=");
+            if (keyValue.length != 2) {
+                throw new IOException("Could not parse input file: Header data unknown");
+            }
+            String key = keyValue[0].trim().toLowerCase(Locale.ROOT);
+            String value = keyValue[1].trim();
+            if (key.equals("x")) {
+                width = parseSize(value);
+            } else if (key.equals("y")) {
+                height = parseSize(value);
+            } else if (key.equals("rule") && !isConwayRule(value)) {
+                throw new IOException("Could not parse input file: Rule " + value + " not supported");
+            }
+        }
+        if (width < 0 || height < 0) {
+            throw new IOException("Could not parse input file: Header data corrupt");
+        }
+
+        int nrOfFields = Math.max(Math.max(width, height), Constants.GAME_MIN_NR_OF_FIELDS);
+        if (nrOfFields > Constants.GAME_MAX_NR_OF_FIELDS) {
+            throw new IOException(String.format("Number of fields must be <= %d", Constants.GAME_MAX_NR_OF_FIELDS));
+        }
+        int wordsPerRow = FileData.getWordsPerRow(nrOfFields);
+        long[] bits = new long[nrOfFields * wordsPerRow];
+        readRuns(bits, nrOfFields, wordsPerRow);
+        FileUtils.updateProgress(progress, nrOfFields, nrOfFields);
+
+        return new FileData(Constants.JGOL_DATA_NAME, nrOfFields, Constants.DEFAULT_FIELD_SIZE, bits);
+    }
+
+    private String readHeader() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = next()) >= 0) {
+            if (c == '\n' || c == '\r') {
+                String s = line.toString().trim();
+                line.setLength(0);
+                if (!s.isEmpty() && s.charAt(0) != '#') {
+                    return s;
+                }
+            } else {
+                line.append((char) c);
+            }
+        }
+        String s = line.toString().trim();
+        if (s.isEmpty() || s.charAt(0) == '#') {
+            throw new IOException("Could not parse input file: Header data corrupt");
+        }
+
+        return s;
+    }
+
+    private void readRuns(long[] bits, int nrOfFields, int wordsPerRow) throws IOException {
+        int row = 0;
+        int col = 0;
+        int count = 0;
+        int c;
+        while ((c = next()) >= 0 && c != '!') {
+            if (c >= '0' && c <= '9') {
+                count = count * 10 + (c - '0');
+                if (count > Constants.GAME_MAX_NR_OF_FIELDS) {
+                    throw new IOException("Could not parse input file: Run too long");
+                }
+                continue;
+            }
+            int run = Math.max(count, 1);
+            count = 0;
+            if (c == '$') {
+                row = Math.min(row + run, nrOfFields);
+                col = 0;
+                FileUtils.updateProgress(progress, row, nrOfFields);
+            } else if (c == 'b' || c == '.') {
+                col = Math.min(col + run, nrOfFields);
+            } else if (Character.isLetter(c)) {
+                // Every state other than dead is alive
+                if (row < nrOfFields) {
+                    setRun(bits, row * wordsPerRow, col, Math.min(col + run, nrOfFields));
+                }
+                col = Math.min(col + run, nrOfFields);
+            } else if (c == '#') {
+                skipLine();
+            } else if (!Character.isWhitespace(c)) {
+                throw new IOException("Could not parse input file: Unknown tag " + (char) c);
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = next();
+        } while (c >= 0 && c != '\n');
+    }
+
+    private int next() throws IOException {
+        if (chunkPosition == chunkLength) {
+            chunkLength = reader.read(chunk, 0, chunk.length);
+            chunkPosition = 0;
+            if (chunkLength <= 0) {
+                chunkLength = 0;
+                return -1;
+            }
+        }
+        return chunk[chunkPosition++];
+    }
+
+    private static void setRun(long[] bits, int rowOffset, int fromCol, int toCol) {
+        int col = fromCol;
+        while (col < toCol) {
+            int end = Math.min(toCol, (col | 63) + 1);
+            int length = end - col;
+            long mask = length == 64 ? -1L : ((1L << length) - 1) << (col & 63);
+            bits[rowOffset + (col >>> 6)] |= mask;
+            col = end;
+        }
+    }
+
+    private static int parseSize(String value) throws IOException {
+        try {
+            int size = Integer.parseInt(value);
+            if (size < 0) {
+                throw new IOException("Could not parse input file: Header data corrupt");
+            }
+            return size;
+        } catch (NumberFormatException e) {
+            throw new IOException("Could not parse input file: Header data corrupt", e);
+        }
+    }
+
+    private static boolean isConwayRule(String rule) {
+        String r = rule.replace(" ", "").toUpperCase(Locale.ROOT);
+        return r.equals("B3/S23") || r.equals("S23/B3") || r.equals("23/3");
+    }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import de.calltopower.jgol.api.IOProgress;
+
+/**
+ * Streaming writer for run length encoded (RLE) patterns.
+ * 
+ * Runs are found word by word in the packed bits and written as they are found, trailing dead
+ * cells of a row and trailing empty rows are omitted. Lines are at most 70 characters long.
+ */
+public class RleWriter {
+
+    private static final int MAX_LINE_LENGTH = 70;
+    private static final String RULE = "B3/S23";
+
+    private final Writer writer;
+    private final IOProgress progress;
+    private int lineLength;
+
+    /**
+     * Constructor
+     * 
+     * @param writer The writer, not closed by the RLE writer
+     */
+    public RleWriter(Writer writer) {
+        this(writer, IOProgress.NONE);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param writer   The writer, not closed by the RLE writer
+     * @param progress The progress callback, called with the number of rows written
+     */
+    public RleWriter(Writer writer, IOProgress progress) {
+        this.writer = writer;
+        this.progress = progress;
+    }
+
+    /**
+     * Writes a pattern
+     * 
+     * @param fileData The file data
+     * @throws IOException An InterruptedIOException if cancelled by the progress callback
+     */
+    public void write(FileData fileData) throws IOException {
+        int nrOfFields = fileData.getNrOfFields();
+        int wordsPerRow = FileData.getWordsPerRow(nrOfFields);
+        long[] bits = fileData.getBits();
+
+        writer.write("x = " + nrOfFields + ", y = " + nrOfFields + ", rule = " + RULE + "\n");
+        lineLength = 0;
+        int rowEnds = 0;
+        for (int row = 0; row < nrOfFields; ++row) {
+            int offset = row * wordsPerRow;
+            int col = 0;
+            int alive = next(bits, offset, col, nrOfFields, true);
+            FileUtils.updateProgress(progress, row, nrOfFields);
+            if (row > 0) {
+                ++rowEnds;
+            }
+            if (alive >= nrOfFields) {
+                continue;
+            }
+            writeRun(rowEnds, '$');
+            rowEnds = 0;
+            while (alive < nrOfFields) {
+                int dead = next(bits, offset, alive, nrOfFields, false);
+                writeRun(alive - col, 'b');
+                writeRun(dead - alive, 'o');
+                col = dead;
+                alive = next(bits, offset, col, nrOfFields, true);
+            }
+        }
+        writeRun(1, '!');
+        writer.write('\n');
+        FileUtils.updateProgress(progress, nrOfFields, nrOfFields);
+    }
+
+    private void writeRun(int count, char tag) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        String run = count > 1 ? count + String.valueOf(tag) : String.valueOf(tag);
+        if (lineLength + run.length() > MAX_LINE_LENGTH) {
+            writer.write('\n');
+            lineLength = 0;
+        }
+        writer.write(run);
+        lineLength += run.length();
+    }
+
+    /**
+     * Returns the first column at or after a column with the given state
+     * 
+     * @param bits       The packed bits
+     * @param offset     The offset of the row
+     * @param from       The first column
+     * @param nrOfFields The number of fields
+     * @param alive      The state
+     * @return the column, nrOfFields if there is none
+     */
+    private static int next(long[] bits, int offset, int from, int nrOfFields, boolean alive) {
+        int col = from;
+        while (col < nrOfFields) {
+            long word = bits[offset + (col >>> 6)];
+            word = (alive ? word : ~word) & (-1L << (col & 63));
+            if (word != 0) {
+                return Math.min(nrOfFields, (col & ~63) + Long.numberOfTrailingZeros(word));
+            }
+            col = (col | 63) + 1;
+        }
+
+        return nrOfFields;
+    }
+
+}
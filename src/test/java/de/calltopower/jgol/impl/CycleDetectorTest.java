@@ -0,0 +1,109 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.enums.FieldValue;
+
+/**
+ * Tests for CycleDetector with engines that do and do not track the changed words
+ */
+class CycleDetectorTest {
+
+    private static final int NR_OF_FIELDS = 100;
+    private static final EngineType[] ENGINE_TYPES = { EngineType.OBJECT, EngineType.PACKED, EngineType.SWAR,
+            EngineType.PARALLEL, EngineType.TILED, EngineType.SPARSE };
+
+    @Test
+    void stillLifeHasPeriodOne() {
+        for (EngineType engineType : ENGINE_TYPES) {
+            GameField gameField = create(engineType, new int[][] { { 50, 50 }, { 50, 51 }, { 51, 50 }, { 51, 51 } });
+            CycleDetector cycleDetector = new CycleDetector(NR_OF_FIELDS, 16);
+            // The repeat of generation 0 in generation 1 is confirmed in generation 2
+            assertEquals(2, run(gameField, cycleDetector, 10), engineType.name());
+            assertEquals(0, cycleDetector.getCycleStart(), engineType.name());
+            assertEquals(1, cycleDetector.getPeriod(), engineType.name());
+        }
+    }
+
+    @Test
+    void blinkerHasPeriodTwo() {
+        for (EngineType engineType : ENGINE_TYPES) {
+            GameField gameField = create(engineType, new int[][] { { 50, 49 }, { 50, 50 }, { 50, 51 } });
+            CycleDetector cycleDetector = new CycleDetector(NR_OF_FIELDS, 16);
+            assertEquals(4, run(gameField, cycleDetector, 10), engineType.name());
+            assertEquals(0, cycleDetector.getCycleStart(), engineType.name());
+            assertEquals(2, cycleDetector.getPeriod(), engineType.name());
+        }
+    }
+
+    @Test
+    void gliderIsNotPeriodic() {
+        for (EngineType engineType : ENGINE_TYPES) {
+            GameField gameField = create(engineType, new int[][] { { 1, 2 }, { 2, 3 }, { 3, 1 }, { 3, 2 }, { 3, 3 } });
+            CycleDetector cycleDetector = new CycleDetector(NR_OF_FIELDS, 1024);
+            // The glider moves by one cell in four generations and does not reach the border
+            assertEquals(-1, run(gameField, cycleDetector, 300), engineType.name());
+            assertFalse(cycleDetector.isCycleDetected(), engineType.name());
+        }
+    }
+
+    @Test
+    void incrementalHashMatchesHashOfBoard() {
+        for (EngineType engineType : ENGINE_TYPES) {
+            GameField gameField = GameFieldFactory.create(engineType, NR_OF_FIELDS, 1, 2);
+            gameField.seed(42);
+            CycleDetector cycleDetector = new CycleDetector(NR_OF_FIELDS, 1024);
+            cycleDetector.update(gameField, 0);
+            for (long generation = 1; generation <= 30; ++generation) {
+                gameField.generateNewGeneration();
+                cycleDetector.update(gameField, generation);
+                CycleDetector fresh = new CycleDetector(NR_OF_FIELDS, 1024);
+                fresh.update(gameField, generation);
+                assertEquals(fresh.getHash(), cycleDetector.getHash(), engineType + ", generation " + generation);
+            }
+            assertFalse(cycleDetector.isCycleDetected(), engineType.name());
+        }
+    }
+
+    private static GameField create(EngineType engineType, int[][] cells) {
+        GameField gameField = GameFieldFactory.create(engineType, NR_OF_FIELDS, 1, 2);
+        for (int[] cell : cells) {
+            assertTrue(gameField.set(cell[0], cell[1], FieldValue.ACTIVE));
+        }
+        return gameField;
+    }
+
+    /**
+     * Runs generations until a cycle is detected
+     * 
+     * @param gameField     The game field
+     * @param cycleDetector The cycle detector
+     * @param generations   The maximum number of generations
+     * @return the generation the cycle has been detected in, -1 if none
+     */
+    private static long run(GameField gameField, CycleDetector cycleDetector, long generations) {
+        if (cycleDetector.update(gameField, 0)) {
+            return 0;
+        }
+        for (long generation = 1; generation <= generations; ++generation) {
+            gameField.generateNewGeneration();
+            if (cycleDetector.update(gameField, generation)) {
+                return generation;
+            }
+        }
+        return -1;
+    }
+
+}
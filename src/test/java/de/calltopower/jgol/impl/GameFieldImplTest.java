@@ -0,0 +1,78 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for GameFieldImpl
+ */
+class GameFieldImplTest {
+
+    private static final int NR_OF_FIELDS = 100;
+    private static final int WARMUP_GENERATIONS = 2_000;
+    private static final int GENERATIONS = 200;
+
+    @Test
+    void generateNewGenerationDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        assumeTrue(threadMXBean != null, "Thread allocation measurement not supported");
+
+        GameFieldImpl gameField = new GameFieldImpl(NR_OF_FIELDS, 1);
+        gameField.seed(42);
+        // Let the JIT compile the step before measuring
+        for (int i = 0; i < WARMUP_GENERATIONS; ++i) {
+            gameField.generateNewGeneration();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long overhead = measureOverhead(threadMXBean, threadId);
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < GENERATIONS; ++i) {
+            gameField.generateNewGeneration();
+        }
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        assertEquals(0, after - before - overhead, "Bytes allocated by " + GENERATIONS + " generations");
+    }
+
+    /**
+     * Returns the number of bytes allocated by the measurement itself
+     * 
+     * @param threadMXBean The thread MXBean
+     * @param threadId     The ID of the current thread
+     * @return the number of bytes
+     */
+    private static long measureOverhead(com.sun.management.ThreadMXBean threadMXBean, long threadId) {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; ++i) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            long after = threadMXBean.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, after - before);
+        }
+        return overhead;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        return threadMXBean;
+    }
+
+}
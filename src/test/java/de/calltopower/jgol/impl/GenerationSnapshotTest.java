@@ -0,0 +1,73 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import de.calltopower.jgol.api.GameField;
+import de.calltopower.jgol.enums.EngineType;
+
+/**
+ * Tests for the population pyramid of GenerationSnapshot against counting the cells of the blocks
+ */
+class GenerationSnapshotTest {
+
+    private static final int GENERATIONS = 40;
+    // Board sizes around the block sizes of the pyramid
+    private static final int[] SIZES = { 5, 64, 100, 257 };
+    private static final EngineType[] ENGINE_TYPES = { EngineType.OBJECT, EngineType.SWAR, EngineType.PARALLEL,
+            EngineType.TILED, EngineType.SPARSE };
+
+    @Test
+    void pyramidMatchesCountedBlocks() {
+        for (EngineType engineType : ENGINE_TYPES) {
+            for (int size : SIZES) {
+                GameField gameField = GameFieldFactory.create(engineType, size, 1, 2);
+                gameField.seed(size);
+                GenerationSnapshot[] snapshots = { new GenerationSnapshot(size), new GenerationSnapshot(size) };
+                for (int generation = 1; generation <= GENERATIONS; ++generation) {
+                    gameField.generateNewGeneration();
+                    for (GenerationSnapshot snapshot : snapshots) {
+                        snapshot.markChanged(gameField);
+                    }
+                    // Like a busy renderer, a snapshot is not updated for some generations
+                    GenerationSnapshot snapshot = snapshots[generation % 3 == 0 ? 1 : 0];
+                    snapshot.update(gameField, generation);
+                    assertBlocks(engineType + ", " + size + ", generation " + generation, snapshot);
+                }
+            }
+        }
+    }
+
+    @Test
+    void pyramidMatchesCountedBlocksAfterChange() {
+        GameField gameField = GameFieldFactory.create(EngineType.SWAR, 100, 1, 1);
+        gameField.seed(1);
+        GenerationSnapshot snapshot = new GenerationSnapshot(100);
+        snapshot.update(gameField, 0);
+        gameField.seed(2);
+        snapshot.markAllChanged();
+        snapshot.update(gameField, 0);
+        assertBlocks("seed", snapshot);
+    }
+
+    private static void assertBlocks(String name, GenerationSnapshot snapshot) {
+        int nrOfFields = snapshot.getNrOfFields();
+        for (int blockSize = 2; blockSize < 2 * nrOfFields; blockSize *= 2) {
+            for (int x = 0; x < nrOfFields; x += blockSize) {
+                for (int y = 0; y < nrOfFields; y += blockSize) {
+                    assertEquals(snapshot.getNrOfAliveCells(x, y, blockSize, blockSize),
+                            snapshot.getNrOfAliveCellsOfBlock(x, y, blockSize),
+                            name + ", block " + blockSize + " at " + x + "/" + y);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the node cache bound of HashLife
+ */
+class HashLifeTest {
+
+    private static final int MAX_NODES = 20_000;
+    private static final int SOUP_SIZE = 32;
+    private static final int LOG2_GENERATIONS = 10;
+    private static final int REGION_SIZE = 256;
+
+    @Test
+    void largeJumpStaysWithinNodeBound() {
+        HashLife bounded = createSoup(MAX_NODES);
+        HashLife reference = createSoup(Integer.MAX_VALUE);
+        bounded.advance(LOG2_GENERATIONS);
+        reference.advance(LOG2_GENERATIONS);
+
+        // Without the bound the jump needs more nodes
+        assertTrue(reference.getPeakNrOfNodes() > MAX_NODES, "peak " + reference.getPeakNrOfNodes());
+        assertTrue(bounded.getPeakNrOfNodes() <= MAX_NODES, "peak " + bounded.getPeakNrOfNodes());
+        assertEquals(reference.getGeneration(), bounded.getGeneration());
+        assertEquals(reference.getPopulation(), bounded.getPopulation());
+        for (long row = -2L * REGION_SIZE; row < 2L * REGION_SIZE; row += REGION_SIZE) {
+            for (long col = -2L * REGION_SIZE; col < 2L * REGION_SIZE; col += REGION_SIZE) {
+                assertEquals(reference.getPopulation(row, col, REGION_SIZE), bounded.getPopulation(row, col, REGION_SIZE),
+                        "region " + row + "/" + col);
+            }
+        }
+    }
+
+    @Test
+    void smallStepsMatchLargeJump() {
+        HashLife bounded = createSoup(MAX_NODES);
+        HashLife reference = createSoup(Integer.MAX_VALUE);
+        bounded.advance(LOG2_GENERATIONS);
+        reference.advanceBy(1L << LOG2_GENERATIONS);
+        long[] expected = new long[REGION_SIZE * (REGION_SIZE >>> 6)];
+        long[] actual = new long[expected.length];
+        reference.copyTo(expected, REGION_SIZE);
+        bounded.copyTo(actual, REGION_SIZE);
+        assertEquals(reference.getPopulation(), bounded.getPopulation());
+        for (int i = 0; i < expected.length; ++i) {
+            assertEquals(expected[i], actual[i], "word " + i);
+        }
+    }
+
+    private static HashLife createSoup(int maxNodes) {
+        HashLife hashLife = new HashLife(maxNodes);
+        Random random = new Random(SOUP_SIZE);
+        for (int row = 0; row < SOUP_SIZE; ++row) {
+            for (int col = 0; col < SOUP_SIZE; ++col) {
+                if (random.nextBoolean()) {
+                    hashLife.set(row, col, true);
+                }
+            }
+        }
+        return hashLife;
+    }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.calltopower.jgol.api.Simulation;
+import de.calltopower.jgol.enums.FieldValue;
+import de.calltopower.jgol.utils.FileData;
+import de.calltopower.jgol.utils.FileUtils;
+
+/**
+ * Tests for SwarGameFieldImpl against the object-based reference GameFieldImpl
+ */
+class SwarGameFieldImplTest {
+
+    private static final int GENERATIONS = 150;
+    // Board sizes around the word size of the packed bits
+    private static final int[] SIZES = { 5, 63, 64, 65, 130 };
+
+    @Test
+    void patternsMatchReference() throws IOException {
+        List<Path> patterns = listPatterns();
+        assertFalse(patterns.isEmpty(), "No patterns found");
+        for (Path pattern : patterns) {
+            FileData fileData = FileUtils.getInstance().readFromFile(pattern.toString());
+            // The pattern on its own board
+            GameFieldImpl reference = new GameFieldImpl(fileData.getNrOfFields(), 1);
+            reference.copyFrom(fileData.getBits());
+            assertSameGenerations(pattern.getFileName() + ", " + fileData.getNrOfFields(), reference);
+        }
+    }
+
+    @Test
+    void patternsMatchReferenceOnOtherBoardSizes() throws IOException {
+        for (Path pattern : listPatterns()) {
+            FileData fileData = FileUtils.getInstance().readFromFile(pattern.toString());
+            for (int size : SIZES) {
+                GameFieldImpl reference = new GameFieldImpl(size, 1);
+                place(fileData, reference);
+                assertSameGenerations(pattern.getFileName() + ", " + size, reference);
+            }
+        }
+    }
+
+    @Test
+    void randomBoardsMatchReference() {
+        for (int size : SIZES) {
+            GameFieldImpl reference = new GameFieldImpl(size, 1);
+            reference.seed(size);
+            assertSameGenerations("random, " + size, reference);
+        }
+    }
+
+    /**
+     * Steps a copy of the reference with SwarGameFieldImpl and compares every generation
+     * 
+     * @param name      The name of the board for failure messages
+     * @param reference The reference, stepped as well
+     */
+    private static void assertSameGenerations(String name, GameFieldImpl reference) {
+        int nrOfFields = reference.getNrOfFields();
+        SwarGameFieldImpl swar = new SwarGameFieldImpl(nrOfFields, 1);
+        long[] expected = new long[nrOfFields * FileData.getWordsPerRow(nrOfFields)];
+        long[] actual = new long[expected.length];
+        reference.copyTo(expected);
+        swar.copyFrom(expected);
+        for (int generation = 1; generation <= GENERATIONS; ++generation) {
+            reference.generateNewGeneration();
+            swar.generateNewGeneration();
+            reference.copyTo(expected);
+            swar.copyTo(actual);
+            String message = name + ", generation " + generation;
+            assertArrayEquals(expected, actual, message);
+            assertEquals(reference.getNrOfAliveCells(), swar.getNrOfAliveCells(), message);
+        }
+    }
+
+    /**
+     * Places a pattern at the top left of a board, cells outside of the board are dropped
+     * 
+     * @param fileData   The pattern
+     * @param simulation The board
+     */
+    private static void place(FileData fileData, Simulation simulation) {
+        FieldValue[][] values = fileData.getValues();
+        int size = Math.min(fileData.getNrOfFields(), simulation.getNrOfFields());
+        for (int x = 0; x < size; ++x) {
+            for (int y = 0; y < size; ++y) {
+                simulation.set(x, y, values[x][y]);
+            }
+        }
+    }
+
+    private static List<Path> listPatterns() throws IOException {
+        List<Path> patterns = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get("patterns"), "*.jgol")) {
+            for (Path path : stream) {
+                patterns.add(path);
+            }
+        }
+        return patterns;
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import de.calltopower.jgol.utils.FileData;
+
+/**
+ * Tests for TiledGameFieldImpl against PackedGameFieldImpl
+ */
+class TiledGameFieldImplTest {
+
+    private static final int NR_OF_FIELDS = 150;
+    private static final int GENERATIONS = 50;
+
+    @Test
+    void copyFromOnSettledBoardEvolves() {
+        TiledGameFieldImpl tiled = new TiledGameFieldImpl(NR_OF_FIELDS, 1);
+        // An empty board settles after one generation, all tiles are skipped afterwards
+        tiled.generateNewGeneration();
+        tiled.generateNewGeneration();
+        assertEquals(0, tiled.getNrOfActiveTiles());
+
+        PackedGameFieldImpl packed = new PackedGameFieldImpl(NR_OF_FIELDS, 1);
+        packed.seed(7);
+        long[] bits = new long[NR_OF_FIELDS * FileData.getWordsPerRow(NR_OF_FIELDS)];
+        packed.copyTo(bits);
+        tiled.copyFrom(bits);
+
+        assertSameGenerations(packed, tiled);
+    }
+
+    private static void assertSameGenerations(PackedGameFieldImpl packed, TiledGameFieldImpl tiled) {
+        long[] expected = new long[NR_OF_FIELDS * FileData.getWordsPerRow(NR_OF_FIELDS)];
+        long[] actual = new long[expected.length];
+        for (int generation = 1; generation <= GENERATIONS; ++generation) {
+            packed.generateNewGeneration();
+            tiled.generateNewGeneration();
+            packed.copyTo(expected);
+            tiled.copyTo(actual);
+            assertArrayEquals(expected, actual, "Generation " + generation);
+            assertEquals(packed.getNrOfAliveCells(), tiled.getNrOfAliveCells(), "Generation " + generation);
+        }
+    }
+
+}
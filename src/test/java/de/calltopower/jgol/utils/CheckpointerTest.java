@@ -0,0 +1,95 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.calltopower.jgol.api.Simulation;
+import de.calltopower.jgol.enums.EngineType;
+import de.calltopower.jgol.impl.GameFieldFactory;
+
+/**
+ * Tests for the order of the checkpoints of Checkpointer
+ */
+class CheckpointerTest {
+
+    private static final String NAME = "test";
+    private static final int NR_OF_FIELDS = 32;
+    private static final int KEEP = 2;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void newRunAtLowerGenerationKeepsItsCheckpoints() throws IOException {
+        Simulation oldRun = createSimulation(1);
+        Checkpointer oldCheckpointer = createCheckpointer();
+        for (long generation = 1000; generation <= 3000; generation += 1000) {
+            checkpoint(oldCheckpointer, oldRun, generation);
+        }
+
+        Simulation newRun = createSimulation(2);
+        Checkpointer newCheckpointer = createCheckpointer();
+        checkpoint(newCheckpointer, newRun, 10);
+        checkpoint(newCheckpointer, newRun, 20);
+
+        FileData latest = createCheckpointer().getLatest();
+        assertNotNull(latest);
+        assertEquals(20, latest.getGeneration());
+        long[] expected = new long[NR_OF_FIELDS * FileData.getWordsPerRow(NR_OF_FIELDS)];
+        newRun.copyTo(expected);
+        assertArrayEquals(expected, latest.getBits());
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(KEEP, files.count());
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(files.allMatch(file -> file.getFileName().toString().matches(".*-0000000000[12]0\\.jgolb")));
+        }
+    }
+
+    @Test
+    void checkpointWithoutSequenceNumberIsOlder() throws IOException {
+        Simulation oldRun = createSimulation(1);
+        long[] bits = new long[NR_OF_FIELDS * FileData.getWordsPerRow(NR_OF_FIELDS)];
+        oldRun.copyTo(bits);
+        FileUtils.getInstance().writeToBinaryFile(tempDir.resolve(NAME + "-000000005000").toString(),
+                new FileData(NAME, NR_OF_FIELDS, 4, bits, 5000, 1), true);
+
+        Checkpointer checkpointer = createCheckpointer();
+        checkpoint(checkpointer, createSimulation(2), 10);
+
+        assertEquals(10, createCheckpointer().getLatest().getGeneration());
+    }
+
+    private Checkpointer createCheckpointer() {
+        return new Checkpointer(tempDir.toString(), NAME, 1, 0, KEEP);
+    }
+
+    private static Simulation createSimulation(long seed) {
+        Simulation simulation = GameFieldFactory.create(EngineType.PACKED, NR_OF_FIELDS, 4, 1);
+        simulation.seed(seed);
+        return simulation;
+    }
+
+    private static void checkpoint(Checkpointer checkpointer, Simulation simulation, long generation) {
+        assertTrue(checkpointer.checkpoint(simulation, generation, 0, 4));
+        checkpointer.awaitCheckpoint();
+    }
+
+}
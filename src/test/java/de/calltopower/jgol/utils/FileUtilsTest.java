@@ -0,0 +1,148 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the binary and text formats of FileUtils
+ */
+class FileUtilsTest {
+
+    // Board sizes around the word size of the packed bits
+    private static final int[] SIZES = { 5, 63, 64, 65 };
+    private static final int FIELD_SIZE = 4;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        for (int size : SIZES) {
+            for (boolean compressed : new boolean[] { false, true }) {
+                FileData expected = createFileData(size, 123_456_789L, -42L);
+                String fileName = tempDir.resolve("binary-" + size + "-" + compressed).toString();
+                FileUtils.getInstance().writeToBinaryFile(fileName, expected, compressed);
+                FileData actual = FileUtils.getInstance().readFromFile(fileName + "." + Constants.JGOLB_FILE_SUFFIX);
+
+                String message = "size " + size + ", compressed " + compressed;
+                assertSameBoard(expected, actual, message);
+                assertEquals(expected.getGeneration(), actual.getGeneration(), message);
+                assertEquals(expected.getSeed(), actual.getSeed(), message);
+            }
+        }
+    }
+
+    @Test
+    void binaryToTextRoundTrip() throws IOException {
+        for (int size : SIZES) {
+            for (boolean compressed : new boolean[] { false, true }) {
+                FileData expected = createFileData(size, 0, 0);
+                String binaryFileName = tempDir.resolve("binary-" + size + "-" + compressed).toString();
+                FileUtils.getInstance().writeToBinaryFile(binaryFileName, expected, compressed);
+                FileData binary = FileUtils.getInstance()
+                        .readFromFile(binaryFileName + "." + Constants.JGOLB_FILE_SUFFIX);
+
+                String textFileName = tempDir.resolve("text-" + size + "-" + compressed).toString();
+                FileUtils.getInstance().writeToFile(textFileName, binary, Constants.JGOL_FILE_SUFFIX);
+                FileData text = FileUtils.getInstance().readFromFile(textFileName + "." + Constants.JGOL_FILE_SUFFIX);
+
+                assertSameBoard(expected, text, "size " + size + ", compressed " + compressed);
+            }
+        }
+    }
+
+    @Test
+    void textToBinaryRoundTrip() throws IOException {
+        for (int size : SIZES) {
+            for (boolean compressed : new boolean[] { false, true }) {
+                FileData expected = createFileData(size, 0, 0);
+                String textFileName = tempDir.resolve("text-" + size + "-" + compressed).toString();
+                FileUtils.getInstance().writeToFile(textFileName, expected, Constants.JGOL_FILE_SUFFIX);
+                FileData text = FileUtils.getInstance().readFromFile(textFileName + "." + Constants.JGOL_FILE_SUFFIX);
+
+                String binaryFileName = tempDir.resolve("binary-" + size + "-" + compressed).toString();
+                FileUtils.getInstance().writeToBinaryFile(binaryFileName, text, compressed);
+                FileData binary = FileUtils.getInstance()
+                        .readFromFile(binaryFileName + "." + Constants.JGOLB_FILE_SUFFIX);
+
+                assertSameBoard(expected, binary, "size " + size + ", compressed " + compressed);
+            }
+        }
+    }
+
+    @Test
+    void readVersion1Header() throws IOException {
+        for (int size : SIZES) {
+            FileData expected = createFileData(size, 0, 0);
+            int wordsPerRow = FileData.getWordsPerRow(size);
+            ByteBuffer buffer = ByteBuffer
+                    .allocate(Constants.JGOLB_HEADER_SIZE_V1 + expected.getBits().length * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(Constants.JGOLB_MAGIC)
+                    .putInt(1)
+                    .putInt(0)
+                    .putInt(size)
+                    .putInt(FIELD_SIZE)
+                    .putInt(Constants.JGOLB_ROWS_PER_BLOCK)
+                    .putInt(wordsPerRow)
+                    .putInt(0);
+            for (long word : expected.getBits()) {
+                buffer.putLong(word);
+            }
+            Path file = tempDir.resolve("v1-" + size + "." + Constants.JGOLB_FILE_SUFFIX);
+            Files.write(file, buffer.array());
+
+            FileData actual = FileUtils.getInstance().readFromFile(file.toString());
+
+            String message = "size " + size;
+            assertSameBoard(expected, actual, message);
+            assertEquals(0, actual.getGeneration(), message);
+            assertEquals(0, actual.getSeed(), message);
+        }
+    }
+
+    /**
+     * Creates file data with random cells, the bits beyond the last column are zero
+     * 
+     * @param nrOfFields The number of fields
+     * @param generation The generation
+     * @param seed       The seed
+     * @return the file data
+     */
+    private static FileData createFileData(int nrOfFields, long generation, long seed) {
+        int wordsPerRow = FileData.getWordsPerRow(nrOfFields);
+        long lastWordMask = (nrOfFields & 63) == 0 ? -1L : (1L << (nrOfFields & 63)) - 1;
+        Random random = new Random(nrOfFields);
+        long[] bits = new long[nrOfFields * wordsPerRow];
+        for (int i = 0; i < bits.length; ++i) {
+            bits[i] = random.nextLong();
+            if (i % wordsPerRow == wordsPerRow - 1) {
+                bits[i] &= lastWordMask;
+            }
+        }
+        return new FileData(Constants.JGOL_DATA_NAME, nrOfFields, FIELD_SIZE, bits, generation, seed);
+    }
+
+    private static void assertSameBoard(FileData expected, FileData actual, String message) {
+        assertEquals(expected.getNrOfFields(), actual.getNrOfFields(), message);
+        assertEquals(expected.getFieldSize(), actual.getFieldSize(), message);
+        assertArrayEquals(expected.getBits(), actual.getBits(), message);
+    }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * This file is part of JGameOfLife.
+ * 
+ * Copyright (C) 2016-2023 Denis Meyer
+ */
+
+package de.calltopower.jgol.impl;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SWAR GameField implementation computing whole vector lanes of words per step
+ * with the incubating Vector API.
+ * 
+ * Only built by the optional "vector" source set and only loadable with
+ * "--add-modules jdk.incubator.vector", GameFieldFactory falls back to the
+ * scalar SWAR engine otherwise.
+ */
+public class VectorGameFieldImpl extends SwarGameFieldImpl {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private final long[] emptyRow;
+
+    /**
+     * Constructor
+     * 
+     * @param nrOfFields The number of fields
+     * @param fieldSize  The field size
+     */
+    public VectorGameFieldImpl(int nrOfFields, int fieldSize) {
+        super(nrOfFields, fieldSize);
+        emptyRow = new long[wordsPerRow];
+    }
+
+    @Override
+    protected void generateRows(long[] src, long[] dst, int fromRow, int toRow) {
+        int lanes = SPECIES.length();
+        // The first and the last word of a row have neighbors outside of the row
+        int vectorEnd = wordsPerRow - 1 - lanes;
+        for (int row = fromRow; row < toRow; ++row) {
+            int offset = row * wordsPerRow;
+            long[] aboveSrc = row > 0 ? src : emptyRow;
+            int aboveOffset = row > 0 ? offset - wordsPerRow : 0;
+            long[] belowSrc = row < nrOfFields - 1 ? src : emptyRow;
+            int belowOffset = row < nrOfFields - 1 ? offset + wordsPerRow : 0;
+
+            dst[offset] = nextWord(src, row, 0);
+            int word = 1;
+            for (; word <= vectorEnd; word += lanes) {
+                nextWords(aboveSrc, aboveOffset + word, src, offset + word, belowSrc, belowOffset + word)
+                        .intoArray(dst, offset + word);
+            }
+            for (; word < wordsPerRow; ++word) {
+                dst[offset + word] = nextWord(src, row, word);
+            }
+        }
+    }
+
+    private static LongVector nextWords(long[] aboveSrc, int aboveIndex, long[] src, int index, long[] belowSrc,
+            int belowIndex) {
+        LongVector above = LongVector.fromArray(SPECIES, aboveSrc, aboveIndex);
+        LongVector center = LongVector.fromArray(SPECIES, src, index);
+        LongVector below = LongVector.fromArray(SPECIES, belowSrc, belowIndex);
+
+        // Neighbors in column - 1 are bit k - 1, neighbors in column + 1 are bit k + 1
+        LongVector aW = shiftWest(above, LongVector.fromArray(SPECIES, aboveSrc, aboveIndex - 1));
+        LongVector aE = shiftEast(above, LongVector.fromArray(SPECIES, aboveSrc, aboveIndex + 1));
+        LongVector cW = shiftWest(center, LongVector.fromArray(SPECIES, src, index - 1));
+        LongVector cE = shiftEast(center, LongVector.fromArray(SPECIES, src, index + 1));
+        LongVector bW = shiftWest(below, LongVector.fromArray(SPECIES, belowSrc, belowIndex - 1));
+        LongVector bE = shiftEast(below, LongVector.fromArray(SPECIES, belowSrc, belowIndex + 1));
+
+        // Full adders over the eight neighbors, see SwarGameFieldImpl.nextWord
+        LongVector s1 = aW.lanewise(VectorOperators.XOR, above).lanewise(VectorOperators.XOR, aE);
+        LongVector c1 = aW.and(above).or(aE.and(aW.lanewise(VectorOperators.XOR, above)));
+        LongVector s2 = cW.lanewise(VectorOperators.XOR, cE).lanewise(VectorOperators.XOR, bW);
+        LongVector c2 = cW.and(cE).or(bW.and(cW.lanewise(VectorOperators.XOR, cE)));
+        LongVector s3 = below.lanewise(VectorOperators.XOR, bE);
+        LongVector c3 = below.and(bE);
+
+        LongVector ones = s1.lanewise(VectorOperators.XOR, s2).lanewise(VectorOperators.XOR, s3);
+        LongVector c4 = s1.and(s2).or(s3.and(s1.lanewise(VectorOperators.XOR, s2)));
+
+        LongVector t = c1.lanewise(VectorOperators.XOR, c2).lanewise(VectorOperators.XOR, c3);
+        LongVector c5 = c1.and(c2).or(c3.and(c1.lanewise(VectorOperators.XOR, c2)));
+        LongVector twos = t.lanewise(VectorOperators.XOR, c4);
+        LongVector fours = c5.or(t.and(c4));
+
+        return twos.lanewise(VectorOperators.AND_NOT, fours).and(ones.or(center));
+    }
+
+    private static LongVector shiftWest(LongVector words, LongVector leftWords) {
+        return words.lanewise(VectorOperators.LSHL, 1).or(leftWords.lanewise(VectorOperators.LSHR, 63));
+    }
+
+    private static LongVector shiftEast(LongVector words, LongVector rightWords) {
+        return words.lanewise(VectorOperators.LSHR, 1).or(rightWords.lanewise(VectorOperators.LSHL, 63));
+    }
+
+}